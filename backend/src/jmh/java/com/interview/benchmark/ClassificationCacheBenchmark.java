@@ -0,0 +1,87 @@
+package com.interview.benchmark;
+
+import com.interview.classifier.Classification;
+import com.interview.classifier.ClassificationCache;
+import com.interview.classifier.TitleClassifier;
+import com.interview.csv.CsvReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying a repair title already classified today, cycling through the titles of
+ * ml/dataset.csv: {@code cache} answers from a warm {@link ClassificationCache} (metrics included),
+ * {@code classifier} scores the title again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassificationCacheBenchmark {
+
+    @Param({"cache", "classifier"})
+    public String variant;
+
+    private TitleClassifier classifier;
+    private ClassificationCache cache;
+    private String[] titles;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+        File file = new File("target", "jmh-classification-cache.bin");
+        file.delete();
+        cache = new ClassificationCache(classifier, true, file.getPath(), 1 << 20,
+                new StaticListableBeanFactory(Collections.singletonMap("meters", new SimpleMeterRegistry()))
+                        .getBeanProvider(MeterRegistry.class));
+        List<String> loaded = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(
+                new ClassPathResource("classifier/dataset.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            reader.next();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                loaded.add(record.get(1));
+                cache.classify(record.get(1));
+            }
+        }
+        titles = loaded.toArray(new String[0]);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Benchmark
+    public Classification classify() {
+        String title = titles[next];
+        next = next + 1 == titles.length ? 0 : next + 1;
+        return "cache".equals(variant) ? cache.classify(title) : classifier.classify(title);
+    }
+}
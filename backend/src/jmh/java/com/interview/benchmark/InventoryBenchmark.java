@@ -0,0 +1,186 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+import com.interview.analytics.ColumnAggregates;
+import com.interview.analytics.InventoryColumnStore;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.dto.AutoPartRequest;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.AutoPartTotalValuePerCategoryResponse;
+import com.interview.dto.CursorPagedResponse;
+import com.interview.model.AutoPartEntity;
+import com.interview.repository.AutoPartRepository;
+import com.interview.repository.AutoPartSpecifications;
+import com.interview.search.PartTextIndex;
+import com.interview.service.AutoPartService;
+import com.interview.service.InventoryValuationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service read paths against the embedded H2 seeded with {@code rows} parts. Where a request can
+ * be answered from an in-memory structure, the SQL it replaces is measured alongside as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InventoryBenchmark {
+
+    private static final String[] WORDS = {"Brake", "Pad", "Oil", "Filter", "Spark", "Plug", "Rotor", "Hose",
+            "Belt", "Strut", "Mount", "Pump", "Sensor", "Valve", "Gasket"};
+    private static final String[] MAKERS = {"Bosch", "Brembo", "Denso", "NGK", "Mann", "Gates", "Valeo", "Mahle"};
+    private static final String[] CATEGORIES = {"ENGINE", "BRAKES", "SUSPENSION", "ELECTRICAL", "BODY", null};
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private AutoPartService service;
+    private AutoPartRepository repository;
+    private InventoryColumnStore columnStore;
+
+    private AutoPartQueryRequest query;
+    private AutoPartQueryRequest cursorQuery;
+    private Specification<AutoPartEntity> filterSpec;
+    private AutoPartRequest example;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "app.analytics.columnar.enabled=true",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(AutoPartService.class);
+        repository = context.getBean(AutoPartRepository.class);
+        columnStore = context.getBean(InventoryColumnStore.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(InventoryValuationTracker.class).reconcile();
+        columnStore.rebuild();
+        context.getBean(PartTextIndex.class).rebuild();
+
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setCategory("ENGINE");
+        filter.setManufacturer("bo");
+        filter.setMinPrice(50.0);
+        filterSpec = AutoPartSpecifications.fromFilter(filter);
+
+        query = new AutoPartQueryRequest();
+        query.setFilter(filter);
+        AutoPartQueryRequest.Pagination pagination = new AutoPartQueryRequest.Pagination();
+        pagination.setSortBy("price");
+        pagination.setSize(20);
+        query.setPagination(pagination);
+        AutoPartQueryRequest.Aggregation aggregation = new AutoPartQueryRequest.Aggregation();
+        aggregation.setFields(Arrays.asList("price", "stockQuantity"));
+        aggregation.setFunction("sum");
+        query.setAggregation(aggregation);
+
+        cursorQuery = new AutoPartQueryRequest();
+        cursorQuery.setFilter(filter);
+        cursorQuery.setPagination(pagination);
+
+        example = AutoPartRequest.builder().name("strut mount 9").manufacturer("bosch").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AutoPartTotalValuePerCategoryResponse> totalValuePerCategory() {
+        return service.getTotalValuePerCategory();
+    }
+
+    @Benchmark
+    public List<Object[]> totalValuePerCategorySql() {
+        return repository.sumInventoryValueByCategory();
+    }
+
+    @Benchmark
+    public Map<String, Object> queryPageWithAggregation() {
+        return service.query(query);
+    }
+
+    @Benchmark
+    public CursorPagedResponse<AutoPartResponse> queryByCursor() {
+        return service.queryByCursor(cursorQuery);
+    }
+
+    @Benchmark
+    public Map<String, Double> aggregateSql() {
+        return repository.aggregate(filterSpec, Arrays.asList("price", "stockQuantity"), "sum");
+    }
+
+    @Benchmark
+    public ColumnAggregates aggregateColumnar() {
+        return columnStore.aggregate(query.getFilter());
+    }
+
+    @Benchmark
+    public long countByExample() {
+        return service.countByExample(example);
+    }
+
+    @Benchmark
+    public long countByExampleSql() {
+        AutoPartEntity probe = AutoPartEntity.builder()
+                .name(example.getName())
+                .manufacturer(example.getManufacturer())
+                .build();
+        return repository.count(Example.of(probe, ExampleMatcher.matchingAll()
+                .withIgnoreNullValues()
+                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+                .withIgnoreCase()));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Random random = new Random(rows);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{
+                    1000L + i,
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(100_000),
+                    MAKERS[random.nextInt(MAKERS.length)],
+                    1.0 + random.nextInt(50_000) / 100.0,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(200)});
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                jdbc.batchUpdate("INSERT INTO AUTO_PART (ID, NAME, MANUFACTURER, PRICE, CATEGORY, STOCK_QUANTITY)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.cache.PartJsonFragmentCache;
+import com.interview.cache.PartJsonFragmentModule;
+import com.interview.cache.PartRows;
+import com.interview.constants.CategoryEnum;
+import com.interview.constants.StatusEnum;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.PagedResponse;
+import com.interview.model.AutoPartEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of one page of parts, as read into {@link PartRows}, with and without
+ * {@link PartJsonFragmentModule}; with it, every part is already cached at its current version, as
+ * for a hot page, and no row is mapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonFragmentBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean fragments;
+
+    private List<AutoPartEntity> rows;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<AutoPartEntity> rows = new ArrayList<>(size);
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+        for (int i = 0; i < size; i++) {
+            AutoPartEntity row = AutoPartEntity.builder()
+                    .id((long) i)
+                    .name("Brake Pad " + i)
+                    .manufacturer("Maker " + (i % 40))
+                    .price(10.0 + (i % 500) * 0.25)
+                    .category(CategoryEnum.values()[i % CategoryEnum.values().length])
+                    .stockQuantity(i % 100)
+                    .version(3L)
+                    .build();
+            row.setStatus(StatusEnum.ACTIVE);
+            row.setCreateDate(created.plusSeconds(i));
+            row.setUpdateDate(created.plusDays(1).plusSeconds(i));
+            rows.add(row);
+        }
+        this.rows = rows;
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (fragments) {
+            PartJsonFragmentCache cache = new PartJsonFragmentCache(true, 256L << 20);
+            builder.modulesToInstall(new PartJsonFragmentModule(new StaticListableBeanFactory(
+                    Collections.singletonMap("cache", cache)).getBeanProvider(PartJsonFragmentCache.class)));
+        }
+        objectMapper = builder.build();
+        serialize();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        // a fresh page of rows per call, as each request reads its own
+        PagedResponse<AutoPartResponse> page = new PagedResponse<>(new PartRows(rows), 0, size, size * 10L, 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 16);
+        objectMapper.writeValue(out, page);
+        return out.size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.constants.CategoryEnum;
+import com.interview.constants.StatusEnum;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.PagedResponse;
+import com.interview.mapper.AutoPartMapper;
+import com.interview.model.AutoPartEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping and JSON serialization of list responses, without Spring or a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private AutoPartEntity entity;
+    private List<AutoPartEntity> entities;
+    private List<AutoPartResponse> responses;
+    private PagedResponse<AutoPartResponse> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            AutoPartEntity e = AutoPartEntity.builder()
+                    .id((long) i)
+                    .name("Brake Pad " + i)
+                    .manufacturer("Bosch")
+                    .price(10.0 + i)
+                    .category(CategoryEnum.values()[i % CategoryEnum.values().length])
+                    .stockQuantity(i % 100)
+                    .build();
+            e.setCreateDate(now);
+            e.setUpdateDate(now);
+            e.setStatus(StatusEnum.ACTIVE);
+            entities.add(e);
+        }
+        entity = entities.get(0);
+        responses = mapList();
+        page = new PagedResponse<>(responses, 0, size, size * 10L, 10);
+        // the same defaults Spring MVC's message converter uses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public AutoPartResponse mapOne() {
+        return AutoPartMapper.entityToResponse(entity);
+    }
+
+    @Benchmark
+    public List<AutoPartResponse> mapList() {
+        return entities.stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializePagedResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,122 @@
+package com.interview.benchmark;
+
+import com.interview.config.MessageFormatConfig;
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.PagedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of one 10k-part page ({@code /paged}) through the message converter the negotiated
+ * format selects, optionally gzipped as the container would. The encoded size of each combination
+ * is printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    @Param({"application/json", "application/x-jackson-smile", "application/cbor", "application/x-protobuf"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private PagedResponse<AutoPartResponse> page;
+    private Type pageType;
+    private MediaType mediaType;
+    private GenericHttpMessageConverter<Object> converter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        List<AutoPartResponse> parts = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            parts.add(AutoPartResponse.builder()
+                    .id(100_000L + i)
+                    .name("Brake Pad " + i)
+                    .manufacturer("Maker " + (i % 40))
+                    .price(10.0 + (i % 500) * 0.25)
+                    .category(CategoryEnum.values()[i % CategoryEnum.values().length].name())
+                    .stockQuantity(i % 100)
+                    .createDate(created.plusSeconds(i))
+                    .updateDate(i % 3 == 0 ? created.plusDays(1).plusSeconds(i) : null)
+                    .status("ACTIVE")
+                    .version((long) (i % 5))
+                    .build());
+        }
+        page = new PagedResponse<>(parts, 0, PAGE_SIZE, 1_000_000L, 100);
+        pageType = ResolvableType.forClassWithGenerics(PagedResponse.class, AutoPartResponse.class).getType();
+        mediaType = MediaType.parseMediaType(format);
+
+        // the converters the application registers, in the same order
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        new MessageFormatConfig(new DefaultListableBeanFactory().getBeanProvider(Jackson2ObjectMapperBuilder.class))
+                .extendMessageConverters(converters);
+        for (HttpMessageConverter<?> candidate : converters) {
+            GenericHttpMessageConverter<Object> generic = (GenericHttpMessageConverter<Object>) candidate;
+            if (generic.canWrite(pageType, page.getClass(), mediaType)) {
+                converter = generic;
+                break;
+            }
+        }
+        System.out.printf("%n%s%s: %d bytes%n", format, gzip ? " + gzip" : "", serialize());
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        OutputStream body = gzip ? new GZIPOutputStream(bytes, 8192) : bytes;
+        converter.write(page, pageType, mediaType, new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        body.close();
+        return bytes.size();
+    }
+}
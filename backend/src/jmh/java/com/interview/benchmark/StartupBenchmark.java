@@ -0,0 +1,120 @@
+package com.interview.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the application JVM until its first {@code GET /api/v1/parts} answers 200.
+ * Needs both builds in place: {@code mvn package} for the fat jar, then
+ * {@code mvn -Pfast-startup package} for target/fast-startup. Variants:
+ * <ul>
+ *   <li>{@code fat-jar}: the default build and configuration</li>
+ *   <li>{@code fast-startup-no-cds}: the fast-startup build and profile without the CDS archive</li>
+ *   <li>{@code fast-startup}: the same with the CDS archive</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String JAR = "interview-1.0-SNAPSHOT.jar";
+    private static final long TIMEOUT_MS = 180_000;
+
+    @Param({"fat-jar", "fast-startup-no-cds", "fast-startup"})
+    public String variant;
+
+    private Process process;
+
+    @Benchmark
+    public long timeToFirstRequest() throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        process = launch(port);
+        URL url = new URL("http://localhost:" + port + "/api/v1/parts");
+        while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(variant + " exited with " + process.exitValue());
+            }
+            if (answers(url)) {
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException(variant + " did not answer within " + TIMEOUT_MS + " ms");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private Process launch(int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>(Arrays.asList(java));
+        File directory;
+        if ("fat-jar".equals(variant)) {
+            directory = new File("target");
+        } else {
+            directory = new File("target", "fast-startup");
+            if ("fast-startup".equals(variant)) {
+                command.add("-XX:SharedArchiveFile=app.jsa");
+            }
+            command.add("-Dspring.profiles.active=fast-startup");
+        }
+        command.addAll(Arrays.asList("-jar", JAR, "--server.port=" + port));
+        return new ProcessBuilder(command)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target", "startup-" + variant + ".log"))
+                .start();
+    }
+
+    private static boolean answers(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(500);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException notYetListening) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.interview.benchmark;
+
+import com.interview.Application;
+import com.interview.dto.AutoPartRequest;
+import com.interview.dto.AutoPartResponse;
+import com.interview.service.AutoPartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads taking stock from one hot part: the conditional-UPDATE {@code reserve} against the
+ * {@code getById} + {@code update} read-modify-write it replaces. Each invocation takes one unit, so
+ * at tear-down the part should hold exactly its starting stock minus the units taken; the drift
+ * printed for the update path is the number of lost updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class StockReservationBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE / 2;
+
+    private ConfigurableApplicationContext context;
+    private AutoPartService service;
+    private Long hotId;
+    private final AtomicLong reservedViaUpdate = new AtomicLong();
+    private final AtomicLong reservedAtomically = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        service = context.getBean(AutoPartService.class);
+        hotId = service.create(AutoPartRequest.builder()
+                .name("Hot Part")
+                .manufacturer("Bench Co")
+                .price(1.0)
+                .category("ENGINE")
+                .stockQuantity(INITIAL_STOCK)
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long taken = reservedViaUpdate.get() + reservedAtomically.get();
+        long actual = service.getById(hotId).getStockQuantity();
+        System.out.printf("%nstock drift (lost updates): %d%n", actual - (INITIAL_STOCK - taken));
+        context.close();
+    }
+
+    @Benchmark
+    public int reserve() {
+        reservedAtomically.incrementAndGet();
+        return service.reserve(hotId, 1).getStockQuantity();
+    }
+
+    @Benchmark
+    public int readModifyWrite() {
+        AutoPartResponse part = service.getById(hotId);
+        AutoPartResponse saved = service.update(hotId, AutoPartRequest.builder()
+                .name(part.getName())
+                .manufacturer(part.getManufacturer())
+                .price(part.getPrice())
+                .category(part.getCategory())
+                .stockQuantity(part.getStockQuantity() - 1)
+                .build());
+        reservedViaUpdate.incrementAndGet();
+        return saved.getStockQuantity();
+    }
+}
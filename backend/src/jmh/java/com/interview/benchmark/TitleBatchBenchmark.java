@@ -0,0 +1,131 @@
+package com.interview.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.classifier.ClassificationCache;
+import com.interview.classifier.TitleBatchClassifier;
+import com.interview.classifier.TitleClassifier;
+import com.interview.csv.CsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of classifying a synthetic batch of 1M titles as NDJSON, built by expanding the
+ * titles of ml/dataset.csv: each line is a dataset title, with its case or punctuation changed
+ * (same normalized form) or a reference number appended (a new form from a pool of 50k). Variants:
+ * <ul>
+ *   <li>{@code batch}: {@link TitleBatchClassifier}, deduplicating and scoring on the fork-join pool</li>
+ *   <li>{@code per-title}: the same NDJSON parsed line by line and each title classified on its own</li>
+ * </ul>
+ * The time of one batch, divided into 1M, is titles per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TitleBatchBenchmark {
+
+    private static final int TITLES = 1_000_000;
+
+    @Param({"batch", "per-title"})
+    public String variant;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TitleClassifier classifier;
+    private TitleBatchClassifier batchClassifier;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+        // without the day cache, which would answer every iteration after the first
+        ClassificationCache uncached = new ClassificationCache(classifier, false, "", 8,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        batchClassifier = new TitleBatchClassifier(uncached, objectMapper, 65536, 500_000, 0);
+
+        List<String> titles = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(
+                new ClassPathResource("classifier/dataset.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            reader.next();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                titles.add(record.get(1));
+            }
+        }
+        Random random = new Random(42);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(TITLES * 80);
+        for (int i = 0; i < TITLES; i++) {
+            String title = titles.get(random.nextInt(titles.size()));
+            int variation = random.nextInt(10);
+            if (variation < 3) {
+                title = title.toUpperCase(Locale.ROOT) + ".";
+            } else if (variation < 6) {
+                title = title + " (ref " + random.nextInt(50_000) + ")";
+            }
+            out.write(objectMapper.writeValueAsBytes(title));
+            out.write('\n');
+        }
+        ndjson = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchClassifier.shutdown();
+    }
+
+    @Benchmark
+    public long classifyBatch() throws IOException {
+        if ("batch".equals(variant)) {
+            return batchClassifier.classify(new ByteArrayInputStream(ndjson), NullOutputStream.INSTANCE);
+        }
+        long classified = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(ndjson), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String title = objectMapper.readValue(line, String.class);
+            NullOutputStream.INSTANCE.write(objectMapper.writeValueAsBytes(classifier.classify(title)));
+            classified++;
+        }
+        return classified;
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.interview.benchmark;
+
+import com.interview.classifier.Classification;
+import com.interview.classifier.TitleClassifier;
+import com.interview.csv.CsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of classifying one repair title, cycling through the titles of ml/dataset.csv. Run with
+ * {@code -prof gc} to see the allocation per title.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TitleClassifierBenchmark {
+
+    private TitleClassifier classifier;
+    private String[] titles;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+        List<String> loaded = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(
+                new ClassPathResource("classifier/dataset.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            reader.next();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                loaded.add(record.get(1));
+            }
+        }
+        titles = loaded.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public Classification classify() {
+        String title = titles[next];
+        next = next + 1 == titles.length ? 0 : next + 1;
+        return classifier.classify(title);
+    }
+}
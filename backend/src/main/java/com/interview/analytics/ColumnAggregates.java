@@ -0,0 +1,64 @@
+package com.interview.analytics;
+
+import java.util.Locale;
+
+/**
+ * Result of one scan over {@link InventoryColumnStore}: count plus sum/min/max of price and stock for
+ * the matching rows. Scans over several ranges are combined with {@link #merge}.
+ */
+public final class ColumnAggregates {
+
+    long count;
+    double priceSum;
+    double priceMin = Double.POSITIVE_INFINITY;
+    double priceMax = Double.NEGATIVE_INFINITY;
+    long stockSum;
+    int stockMin = Integer.MAX_VALUE;
+    int stockMax = Integer.MIN_VALUE;
+
+    ColumnAggregates merge(ColumnAggregates other) {
+        count += other.count;
+        priceSum += other.priceSum;
+        priceMin = Math.min(priceMin, other.priceMin);
+        priceMax = Math.max(priceMax, other.priceMax);
+        stockSum += other.stockSum;
+        stockMin = Math.min(stockMin, other.stockMin);
+        stockMax = Math.max(stockMax, other.stockMax);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Same semantics as the SQL aggregate in
+     * {@link com.interview.repository.AutoPartRepositoryImpl#aggregate}: sum, avg, min, max or count
+     * of "price" or "stockQuantity", with 0 for an empty set.
+     */
+    public double value(String field, String function) {
+        boolean price;
+        switch (field) {
+            case "price": price = true; break;
+            case "stockQuantity": price = false; break;
+            default: throw new IllegalArgumentException("Unsupported aggregation field " + field);
+        }
+        String fn = function == null ? "" : function.toLowerCase(Locale.ROOT);
+        if ("count".equals(fn)) {
+            return count;
+        }
+        if (count == 0) {
+            if ("sum".equals(fn) || "avg".equals(fn) || "min".equals(fn) || "max".equals(fn)) {
+                return 0.0;
+            }
+            throw new IllegalArgumentException("Unsupported aggregation function " + fn);
+        }
+        switch (fn) {
+            case "sum": return price ? priceSum : stockSum;
+            case "avg": return (price ? priceSum : stockSum) / (double) count;
+            case "min": return price ? priceMin : stockMin;
+            case "max": return price ? priceMax : stockMax;
+            default: throw new IllegalArgumentException("Unsupported aggregation function " + fn);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.interview.analytics;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.model.AutoPartEntity;
+import com.interview.repository.AutoPartRepository;
+import com.interview.repository.AutoPartSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory, column-oriented copy of the fields that analytics filter and aggregate on:
+ * primitive price and stock columns, the category as a byte ordinal and the manufacturer as a
+ * dictionary code. Filter + aggregate scans are plain loops over those arrays with no per-row
+ * allocation, and large scans are split across a fork-join pool.
+ *
+ * The store is built from the database at startup and then kept current from committed
+ * {@link AutoPartChangedEvent}s, so it lags the database by at most the in-flight commits.
+ * Enable with {@code app.analytics.columnar.enabled=true}.
+ */
+@Component
+public class InventoryColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryColumnStore.class);
+
+    static final byte NO_CATEGORY = -1;
+    private static final int ANY_CATEGORY = -2;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private final boolean enabled;
+    private final AutoPartRepository autoPartRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+    private final ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();          // guarded by lock
+    private List<AutoPartChangedEvent> pendingDuringBuild; // guarded by lock, non-null while rebuilding
+    private volatile boolean ready;
+
+    public InventoryColumnStore(@Value("${app.analytics.columnar.enabled:false}") boolean enabled,
+                                @Value("${app.analytics.columnar.parallelism:0}") int parallelism,
+                                AutoPartRepository autoPartRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.autoPartRepository = autoPartRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * True once the store is enabled and has finished its first build.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reloads every row from the database. Writes committed while the reload runs are queued and
+     * replayed on top of the fresh columns before they replace the current ones.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns fresh = new Columns();
+        long start = System.nanoTime();
+        try {
+            readOnlyTx.execute(status -> {
+                try (Stream<AutoPartEntity> parts = autoPartRepository.streamAll()) {
+                    parts.forEach(e -> {
+                        fresh.upsert(AutoPartSnapshot.of(e));
+                        entityManager.detach(e);
+                    });
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringBuild.forEach(fresh::apply);
+            pendingDuringBuild = null;
+            columns = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Columnar inventory snapshot built with {} rows in {} ms", fresh.liveRows,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AutoPartChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringBuild != null) {
+                pendingDuringBuild.add(event);
+            }
+            columns.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.liveRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count, sum, min and max of price and stock over the rows matching {@code filter}, with the
+     * same semantics as {@link AutoPartSpecifications#fromFilter}.
+     */
+    public ColumnAggregates aggregate(AutoPartQueryRequest.Filter filter) {
+        CategoryEnum category = filter == null ? null : AutoPartSpecifications.parseCategory(filter.getCategory());
+        String manufacturer = filter == null ? null : filter.getManufacturer();
+
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            Scan scan = new Scan(c,
+                    category == null ? ANY_CATEGORY : category.ordinal(),
+                    manufacturer == null || manufacturer.isEmpty() ? null : c.matchingManufacturers(manufacturer),
+                    filter == null || filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice(),
+                    filter == null || filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice(),
+                    filter == null || filter.getMinStock() == null ? Integer.MIN_VALUE : filter.getMinStock(),
+                    filter == null || filter.getMaxStock() == null ? Integer.MAX_VALUE : filter.getMaxStock(),
+                    0, c.rows);
+            return c.rows >= PARALLEL_THRESHOLD ? pool.invoke(scan) : scan.compute();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Column arrays plus the id and manufacturer lookups needed to maintain them. Deleted rows are
+     * tombstoned and compacted away once they make up half of the arrays.
+     */
+    static final class Columns {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        long[] ids = new long[INITIAL_CAPACITY];
+        double[] prices = new double[INITIAL_CAPACITY];
+        int[] stocks = new int[INITIAL_CAPACITY];
+        byte[] categories = new byte[INITIAL_CAPACITY];
+        int[] manufacturers = new int[INITIAL_CAPACITY];
+        boolean[] live = new boolean[INITIAL_CAPACITY];
+        int rows;
+        int liveRows;
+
+        final Map<Long, Integer> rowById = new HashMap<>();
+        final List<String> dictionary = new ArrayList<>();
+        final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+        void apply(AutoPartChangedEvent event) {
+            for (AutoPartChangedEvent.Change change : event.getChanges()) {
+                if (change.getAfter() == null) {
+                    remove(change.getId());
+                } else {
+                    upsert(change.getAfter());
+                }
+            }
+        }
+
+        void upsert(AutoPartSnapshot part) {
+            if (part.getId() == null || !part.isValued()) {
+                remove(part.getId());
+                return;
+            }
+            Integer row = rowById.get(part.getId());
+            if (row == null) {
+                ensureCapacity(rows + 1);
+                row = rows++;
+                rowById.put(part.getId(), row);
+                live[row] = true;
+                liveRows++;
+            }
+            ids[row] = part.getId();
+            prices[row] = part.getPrice();
+            stocks[row] = part.getStockQuantity();
+            categories[row] = part.getCategory() == null ? NO_CATEGORY : (byte) part.getCategory().ordinal();
+            manufacturers[row] = encode(part.getManufacturer());
+        }
+
+        void remove(Long id) {
+            Integer row = id == null ? null : rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            live[row] = false;
+            liveRows--;
+            if (rows > INITIAL_CAPACITY && liveRows < rows / 2) {
+                compact();
+            }
+        }
+
+        /**
+         * Which dictionary codes contain {@code fragment}, case-insensitively; computed once per
+         * query so the row loop only does an array lookup.
+         */
+        boolean[] matchingManufacturers(String fragment) {
+            String needle = fragment.toLowerCase(Locale.ROOT);
+            boolean[] match = new boolean[dictionary.size()];
+            for (int code = 0; code < match.length; code++) {
+                String value = dictionary.get(code);
+                match[code] = value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+            }
+            return match;
+        }
+
+        private int encode(String manufacturer) {
+            Integer code = dictionaryCodes.get(manufacturer);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(manufacturer);
+                dictionaryCodes.put(manufacturer, code);
+            }
+            return code;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(required, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            stocks = Arrays.copyOf(stocks, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            manufacturers = Arrays.copyOf(manufacturers, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+
+        private void compact() {
+            int target = 0;
+            for (int i = 0; i < rows; i++) {
+                if (!live[i]) {
+                    continue;
+                }
+                if (target != i) {
+                    ids[target] = ids[i];
+                    prices[target] = prices[i];
+                    stocks[target] = stocks[i];
+                    categories[target] = categories[i];
+                    manufacturers[target] = manufacturers[i];
+                    live[target] = true;
+                    rowById.put(ids[target], target);
+                }
+                target++;
+            }
+            Arrays.fill(live, target, rows, false);
+            rows = target;
+        }
+    }
+
+    /**
+     * Filter + aggregate over rows [from, to). Splits in halves down to {@link #LEAF_SIZE} when run
+     * in the pool; a leaf is a single loop over primitive arrays.
+     */
+    private static final class Scan extends RecursiveTask<ColumnAggregates> {
+        private final Columns c;
+        private final int category;
+        private final boolean[] manufacturerMatch;
+        private final double minPrice;
+        private final double maxPrice;
+        private final int minStock;
+        private final int maxStock;
+        private final int from;
+        private final int to;
+
+        Scan(Columns c, int category, boolean[] manufacturerMatch, double minPrice, double maxPrice,
+             int minStock, int maxStock, int from, int to) {
+            this.c = c;
+            this.category = category;
+            this.manufacturerMatch = manufacturerMatch;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.minStock = minStock;
+            this.maxStock = maxStock;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ColumnAggregates compute() {
+            if (to - from > LEAF_SIZE && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                Scan left = new Scan(c, category, manufacturerMatch, minPrice, maxPrice, minStock, maxStock, from, mid);
+                Scan right = new Scan(c, category, manufacturerMatch, minPrice, maxPrice, minStock, maxStock, mid, to);
+                left.fork();
+                return right.compute().merge(left.join());
+            }
+            return scan();
+        }
+
+        private ColumnAggregates scan() {
+            final boolean[] live = c.live;
+            final byte[] categories = c.categories;
+            final int[] manufacturers = c.manufacturers;
+            final double[] prices = c.prices;
+            final int[] stocks = c.stocks;
+
+            long count = 0;
+            double priceSum = 0;
+            double priceMin = Double.POSITIVE_INFINITY;
+            double priceMax = Double.NEGATIVE_INFINITY;
+            long stockSum = 0;
+            int stockMin = Integer.MAX_VALUE;
+            int stockMax = Integer.MIN_VALUE;
+
+            for (int i = from; i < to; i++) {
+                if (!live[i]
+                        || (category != ANY_CATEGORY && categories[i] != category)
+                        || (manufacturerMatch != null && !manufacturerMatch[manufacturers[i]])) {
+                    continue;
+                }
+                double price = prices[i];
+                int stock = stocks[i];
+                if (price < minPrice || price > maxPrice || stock < minStock || stock > maxStock) {
+                    continue;
+                }
+                count++;
+                priceSum += price;
+                priceMin = Math.min(priceMin, price);
+                priceMax = Math.max(priceMax, price);
+                stockSum += stock;
+                stockMin = Math.min(stockMin, stock);
+                stockMax = Math.max(stockMax, stock);
+            }
+
+            ColumnAggregates result = new ColumnAggregates();
+            result.count = count;
+            result.priceSum = priceSum;
+            result.priceMin = priceMin;
+            result.priceMax = priceMax;
+            result.stockSum = stockSum;
+            result.stockMin = stockMin;
+            result.stockMax = stockMax;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.interview.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for point reads by id and for category listings.
+ *
+ * Entries are loaded with Caffeine's atomic get-or-load and invalidated after the writing
+ * transaction commits. An invalidation for a key that is being loaded waits for that load to
+ * finish and then removes it, so once a write has committed no later read returns the old row.
+ */
+@Component
+public class AutoPartReadCache {
+
+    private final boolean enabled;
+    private final Cache<Long, AutoPartResponse> byId;
+    private final Cache<CategoryEnum, List<AutoPartResponse>> byCategory;
+
+    public AutoPartReadCache(@Value("${app.cache.parts.enabled:true}") boolean enabled,
+                             @Value("${app.cache.parts.maximum-size:10000}") long maximumSize,
+                             @Value("${app.cache.parts.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.byCategory = Caffeine.newBuilder()
+                .maximumSize(CategoryEnum.values().length)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public AutoPartResponse getById(Long id, Function<Long, AutoPartResponse> loader) {
+        return enabled ? byId.get(id, loader) : loader.apply(id);
+    }
+
+    public List<AutoPartResponse> getByCategory(CategoryEnum category, Function<CategoryEnum, List<AutoPartResponse>> loader) {
+        return enabled
+                ? byCategory.get(category, c -> Collections.unmodifiableList(loader.apply(c)))
+                : loader.apply(category);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AutoPartChangedEvent event) {
+        Set<CategoryEnum> categories = EnumSet.noneOf(CategoryEnum.class);
+        for (AutoPartChangedEvent.Change change : event.getChanges()) {
+            byId.invalidate(change.getId());
+            addCategory(categories, change.getBefore());
+            addCategory(categories, change.getAfter());
+        }
+        byCategory.invalidateAll(categories);
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byCategory.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("byId", stats(byId));
+        result.put("byCategory", stats(byCategory));
+        return result;
+    }
+
+    private static Map<String, Object> stats(Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", s.hitCount());
+        result.put("misses", s.missCount());
+        result.put("hitRate", s.hitRate());
+        result.put("evictions", s.evictionCount());
+        return result;
+    }
+
+    private static void addCategory(Set<CategoryEnum> categories, AutoPartSnapshot part) {
+        if (part != null && part.getCategory() != null) {
+            categories.add(part.getCategory());
+        }
+    }
+}
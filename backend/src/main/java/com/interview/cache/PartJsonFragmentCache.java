@@ -0,0 +1,153 @@
+package com.interview.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interview.dto.AutoPartResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.model.AutoPartEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Each part's serialized JSON, as UTF-8 bytes, for {@link PartJsonFragmentModule} to copy into
+ * responses instead of serializing the part again.
+ *
+ * One fragment is kept per part id, tagged with the version and timestamps it was rendered from; a
+ * part whose version or timestamps differ is rendered again and replaces it. The cache is bounded by
+ * the total size of the fragments, and fragments of changed parts are dropped after the writing
+ * transaction commits.
+ */
+@Component
+public class PartJsonFragmentCache {
+
+    /**
+     * Renders a part to its JSON bytes.
+     */
+    public interface Renderer {
+        byte[] render(AutoPartResponse part) throws IOException;
+    }
+
+    private final boolean enabled;
+    private final Cache<Long, Fragment> fragments;
+    private final LongAdder stale = new LongAdder();
+
+    public PartJsonFragmentCache(@Value("${app.cache.json-fragments.enabled:true}") boolean enabled,
+                                 @Value("${app.cache.json-fragments.maximum-bytes:67108864}") long maximumBytes) {
+        this.enabled = enabled;
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<Long, Fragment>weigher((id, fragment) -> fragment.json.length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The JSON of {@code part}, from the cache when it holds this version of it, otherwise rendered
+     * and cached. Parts without an id or version are rendered every time.
+     */
+    public byte[] get(AutoPartResponse part, Renderer renderer) throws IOException {
+        if (!enabled || part.getId() == null || part.getVersion() == null) {
+            return renderer.render(part);
+        }
+        byte[] json = lookup(part.getId(), part.getVersion(), part.getCreateDate(), part.getUpdateDate());
+        return json != null ? json : render(part, renderer);
+    }
+
+    /**
+     * The cached JSON of the part in {@code row}, or null when the cache does not hold this version
+     * of it; lets a list write cached parts without mapping their rows first.
+     */
+    public byte[] get(AutoPartEntity row) {
+        if (!enabled || row.getId() == null || row.getVersion() == null) {
+            return null;
+        }
+        return lookup(row.getId(), row.getVersion(), row.getCreateDate(), row.getUpdateDate());
+    }
+
+    /**
+     * Renders and caches {@code part} without looking it up first, for a part {@link #get(AutoPartEntity)}
+     * just missed.
+     */
+    public byte[] render(AutoPartResponse part, Renderer renderer) throws IOException {
+        byte[] json = renderer.render(part);
+        if (enabled && part.getId() != null && part.getVersion() != null) {
+            fragments.put(part.getId(), new Fragment(part, json));
+        }
+        return json;
+    }
+
+    private byte[] lookup(long id, long version, LocalDateTime createDate, LocalDateTime updateDate) {
+        Fragment cached = fragments.getIfPresent(id);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.renders(version, createDate, updateDate)) {
+            return cached.json;
+        }
+        stale.increment();
+        return null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AutoPartChangedEvent event) {
+        for (AutoPartChangedEvent.Change change : event.getChanges()) {
+            fragments.invalidate(change.getId());
+        }
+    }
+
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = fragments.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", fragments.estimatedSize());
+        result.put("bytes", fragments.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hits", s.hitCount());
+        result.put("misses", s.missCount());
+        // counted as hits above, but rendered again: the cached fragment was of another version
+        result.put("stale", stale.sum());
+        result.put("hitRate", s.hitRate());
+        result.put("evictions", s.evictionCount());
+        return result;
+    }
+
+    private static final class Fragment {
+        private final long version;
+        private final LocalDateTime createDate;
+        private final LocalDateTime updateDate;
+        private final byte[] json;
+
+        Fragment(AutoPartResponse part, byte[] json) {
+            this.version = part.getVersion();
+            this.createDate = part.getCreateDate();
+            this.updateDate = part.getUpdateDate();
+            this.json = json;
+        }
+
+        /**
+         * Every write bumps the version; the timestamps are compared as well because a freshly written
+         * part carries them at full precision and the same row read back at the database's.
+         */
+        boolean renders(long version, LocalDateTime createDate, LocalDateTime updateDate) {
+            return this.version == version
+                    && Objects.equals(this.createDate, createDate)
+                    && Objects.equals(this.updateDate, updateDate);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.interview.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.interview.dto.AutoPartResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Jackson module, picked up by Boot's ObjectMapper, that writes each {@link AutoPartResponse} from
+ * {@link PartJsonFragmentCache}: single parts, lists and pages alike are assembled by copying cached
+ * fragments into the output, and only parts not cached at their current version are serialized.
+ * Lists read as {@link PartRows} are looked up row by row, so cached parts are not even mapped.
+ *
+ * Applies to plain JSON output only. Binary formats, pretty-printed output, and the web test slice,
+ * which has no cache, use the regular serializer.
+ */
+@Component
+public class PartJsonFragmentModule extends SimpleModule {
+
+    public PartJsonFragmentModule(ObjectProvider<PartJsonFragmentCache> cache) {
+        super(PartJsonFragmentModule.class.getSimpleName());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                return description.getBeanClass() == AutoPartResponse.class
+                        ? new FragmentSerializer((JsonSerializer<AutoPartResponse>) serializer, cache)
+                        : serializer;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType type,
+                                                                BeanDescription description, JsonSerializer<?> serializer) {
+                return type.getContentType().hasRawClass(AutoPartResponse.class)
+                        ? new RowsSerializer((JsonSerializer<Object>) serializer, cache)
+                        : serializer;
+            }
+        });
+    }
+
+    private static boolean writesFragments(PartJsonFragmentCache fragments, JsonGenerator gen) {
+        return fragments != null && fragments.isEnabled() && gen.getCodec() != null
+                && gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null;
+    }
+
+    private static PartJsonFragmentCache.Renderer renderer(JsonSerializer<AutoPartResponse> delegate, JsonGenerator gen,
+                                                           SerializerProvider provider) {
+        ObjectCodec codec = gen.getCodec();
+        return p -> {
+            ByteArrayBuilder bytes = new ByteArrayBuilder(512);
+            try (JsonGenerator fragment = codec.getFactory().createGenerator(bytes)) {
+                delegate.serialize(p, fragment, provider);
+            }
+            return bytes.toByteArray();
+        };
+    }
+
+    static final class FragmentSerializer extends StdSerializer<AutoPartResponse>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<AutoPartResponse> delegate;
+        private final ObjectProvider<PartJsonFragmentCache> cacheProvider;
+        private volatile PartJsonFragmentCache cache;
+
+        FragmentSerializer(JsonSerializer<AutoPartResponse> delegate, ObjectProvider<PartJsonFragmentCache> cacheProvider) {
+            super(AutoPartResponse.class);
+            this.delegate = delegate;
+            this.cacheProvider = cacheProvider;
+        }
+
+        @Override
+        public void serialize(AutoPartResponse part, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            PartJsonFragmentCache fragments = cache();
+            if (!writesFragments(fragments, gen)) {
+                delegate.serialize(part, gen, provider);
+                return;
+            }
+            gen.writeRawValue(new RawJsonFragment(fragments.get(part, renderer(delegate, gen, provider))));
+        }
+
+        /**
+         * Writes a part the cache was just asked for and did not hold, without asking again.
+         */
+        void serializeMissed(AutoPartResponse part, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            PartJsonFragmentCache fragments = cache();
+            gen.writeRawValue(new RawJsonFragment(fragments.render(part, renderer(delegate, gen, provider))));
+        }
+
+        private PartJsonFragmentCache cache() {
+            PartJsonFragmentCache c = cache;
+            if (c == null) {
+                c = cacheProvider.getIfAvailable();
+                cache = c;
+            }
+            return c;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+                if (contextual != delegate) {
+                    return new FragmentSerializer((JsonSerializer<AutoPartResponse>) contextual, cacheProvider);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Writes a {@link PartRows} part by part from the rows: a row cached at its version is copied
+     * from the cache, and only the others are mapped and serialized. Any other collection of parts,
+     * and every collection in output that does not take fragments, goes to the regular serializer.
+     */
+    static final class RowsSerializer extends StdSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final ObjectProvider<PartJsonFragmentCache> cacheProvider;
+
+        RowsSerializer(JsonSerializer<Object> delegate, ObjectProvider<PartJsonFragmentCache> cacheProvider) {
+            super(Object.class);
+            this.delegate = delegate;
+            this.cacheProvider = cacheProvider;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            PartJsonFragmentCache fragments = value instanceof PartRows ? cacheProvider.getIfAvailable() : null;
+            if (!writesFragments(fragments, gen)) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            PartRows rows = (PartRows) value;
+            JsonSerializer<?> found = provider.findValueSerializer(AutoPartResponse.class);
+            FragmentSerializer parts = found instanceof FragmentSerializer ? (FragmentSerializer) found : null;
+            gen.writeStartArray(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                byte[] json = fragments.get(rows.row(i));
+                if (json != null) {
+                    gen.writeRawValue(new RawJsonFragment(json));
+                } else if (parts != null) {
+                    parts.serializeMissed(rows.get(i), gen, provider);
+                } else {
+                    provider.defaultSerializeValue(rows.get(i), gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+                if (contextual != delegate) {
+                    return new RowsSerializer((JsonSerializer<Object>) contextual, cacheProvider);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.interview.cache;
+
+import com.interview.dto.AutoPartResponse;
+import com.interview.mapper.AutoPartMapper;
+import com.interview.model.AutoPartEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The result of a list read, kept as the rows it was read from: a part is mapped to
+ * {@link AutoPartResponse} only when it is asked for. {@link PartJsonFragmentModule} writes a row
+ * whose JSON is cached at its version straight from the cache, so hot parts are never mapped.
+ */
+public final class PartRows extends AbstractList<AutoPartResponse> implements RandomAccess {
+
+    private final List<AutoPartEntity> rows;
+    private final AutoPartResponse[] mapped;
+
+    public PartRows(List<AutoPartEntity> rows) {
+        this.rows = rows;
+        this.mapped = new AutoPartResponse[rows.size()];
+    }
+
+    /**
+     * {@code page} with its rows as a {@link PartRows}, which {@link Page#getContent()} returns as is.
+     */
+    public static Page<AutoPartResponse> page(Page<AutoPartEntity> page) {
+        return new RowPage(new PartRows(page.getContent()), page);
+    }
+
+    AutoPartEntity row(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public AutoPartResponse get(int index) {
+        AutoPartResponse part = mapped[index];
+        if (part == null) {
+            part = AutoPartMapper.entityToResponse(rows.get(index));
+            mapped[index] = part;
+        }
+        return part;
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    private static final class RowPage extends PageImpl<AutoPartResponse> {
+
+        private final transient PartRows content;
+
+        RowPage(PartRows content, Page<AutoPartEntity> page) {
+            super(content, page.getPageable(), page.getTotalElements());
+            this.content = content;
+        }
+
+        @Override
+        public List<AutoPartResponse> getContent() {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.interview.cache;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-serialized JSON value for {@code JsonGenerator.writeRawValue}: a UTF-8 generator copies the
+ * bytes straight into its buffer, a character one decodes them. Only the unquoted forms exist; the
+ * fragment is a complete value, never the content of a string.
+ */
+final class RawJsonFragment implements SerializableString {
+
+    private final byte[] utf8;
+
+    RawJsonFragment(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    @Override
+    public String getValue() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return utf8;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        if (offset + utf8.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+        return utf8.length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        String value = getValue();
+        if (offset + value.length() > buffer.length) {
+            return -1;
+        }
+        value.getChars(0, value.length(), buffer, offset);
+        return value.length();
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        if (buffer.remaining() < utf8.length) {
+            return -1;
+        }
+        buffer.put(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        throw quoted();
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        throw quoted();
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        throw quoted();
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        throw quoted();
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) {
+        throw quoted();
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        throw quoted();
+    }
+
+    private static UnsupportedOperationException quoted() {
+        return new UnsupportedOperationException("A raw JSON fragment has no quoted form");
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
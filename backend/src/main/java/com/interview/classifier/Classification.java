@@ -0,0 +1,48 @@
+package com.interview.classifier;
+
+/**
+ * Taxonomy section and name predicted for a title, or {@link TitleClassifier#UNKNOWN} for both, with
+ * the cosine similarity (0 to 1) of the title to the label it was closest to.
+ */
+public final class Classification {
+
+    private final int label;
+    private final String section;
+    private final String name;
+    private final float score;
+
+    Classification(int label, String section, String name, float score) {
+        this.label = label;
+        this.section = section;
+        this.name = name;
+        this.score = score;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * Index of the label in the classifier's model, 0 for unknown.
+     */
+    int label() {
+        return label;
+    }
+
+    public boolean isUnknown() {
+        return TitleClassifier.UNKNOWN.equals(section);
+    }
+
+    @Override
+    public String toString() {
+        return section + " / " + name + " (" + score + ")";
+    }
+}
@@ -0,0 +1,316 @@
+package com.interview.classifier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Today's classification of every title seen today, in a memory-mapped file, so that repeats skip
+ * the classifier, the results survive restarts, and none of them is on the heap.
+ *
+ * The file is a fixed-size hash table: a 64-byte header (format, capacity, the current day and the
+ * {@link TitleClassifier#version() model version} its entries belong to) followed by 16-byte slots
+ * holding the 64-bit hash of a normalized title and, stamped with the day it was stored, its label
+ * index and score. Slots are grouped in buckets of eight (two cache lines); a title only ever lives
+ * in its hash's bucket, and a full bucket gives up a slot chosen by the hash. When the day changes
+ * ({@link Clock} time zone) only the header's day moves on: slots stamped with an earlier day read
+ * as misses and are reused as if empty, so nothing is cleared or locked. On startup a file of
+ * another day or model version is emptied.
+ *
+ * Lookups are optimistic reads validated against a striped {@link StampedLock}; writers lock the
+ * stripe of their bucket. Lookup counts, hit ratio and lookup latency are published as
+ * {@code classifier.cache.*} metrics. Off unless {@code app.classifier.cache.enabled} is set, as
+ * the {@code persistent} profile does.
+ */
+@Component
+public class ClassificationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassificationCache.class);
+
+    private static final long MAGIC = 0x434c415353494659L; // "CLASSIFY"
+    private static final int FORMAT = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int BUCKET_SLOTS = 8;
+    private static final int BUCKET_BYTES = BUCKET_SLOTS * SLOT_BYTES;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final int STRIPES = 256;
+    // slot values are day stamp (16 bits) | label + 1 (16 bits, so that 0 means absent) | score bits
+    private static final int MAX_LABELS = 0xffff - 1;
+
+    private final TitleClassifier classifier;
+    private final boolean enabled;
+    private final Clock clock;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer table;
+    private final int bucketMask;
+    private final StampedLock[] stripes = new StampedLock[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Timer lookupTimer;
+
+    private volatile long day;
+    private volatile long nextDayMillis;
+
+    @Autowired
+    public ClassificationCache(TitleClassifier classifier,
+                               @Value("${app.classifier.cache.enabled:false}") boolean enabled,
+                               @Value("${app.classifier.cache.file:./data/classification-cache.bin}") String file,
+                               @Value("${app.classifier.cache.capacity:8388608}") int capacity,
+                               ObjectProvider<MeterRegistry> meterRegistry) throws IOException {
+        this(classifier, enabled, new File(file), capacity, meterRegistry.getIfAvailable(), Clock.systemDefaultZone());
+    }
+
+    ClassificationCache(TitleClassifier classifier, boolean enabled, File file, int capacity,
+                        MeterRegistry meterRegistry, Clock clock) throws IOException {
+        if (capacity < BUCKET_SLOTS || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Classification cache capacity must be a power of two from "
+                    + BUCKET_SLOTS + " to " + MAX_CAPACITY + ": " + capacity);
+        }
+        if (classifier.labelCount() + 1 > MAX_LABELS) {
+            throw new IllegalArgumentException("Classification cache holds at most " + MAX_LABELS + " labels");
+        }
+        this.classifier = classifier;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.bucketMask = capacity / BUCKET_SLOTS - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new StampedLock();
+        }
+        this.lookupTimer = meterRegistry == null ? null : bindMetrics(meterRegistry);
+        if (!enabled) {
+            this.file = null;
+            this.table = null;
+            return;
+        }
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        this.file = new RandomAccessFile(file, "rw");
+        long size = HEADER_BYTES + (long) capacity * SLOT_BYTES;
+        long today = today();
+        boolean current = this.file.length() == size && headerMatches(capacity, today);
+        if (!current) {
+            // truncating is how a stale file is emptied: extending it again adds zeroed (sparse) slots
+            this.file.setLength(0);
+            this.file.setLength(size);
+        }
+        this.table = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        writeHeader(today);
+        if (current) {
+            log.info("Classification cache {} reopened with today's entries", file);
+        } else {
+            log.info("Classification cache {} started empty", file);
+        }
+    }
+
+    /**
+     * The classification of {@code title}: from the cache if the title, normalized, was classified
+     * today, otherwise from the classifier, and then cached.
+     */
+    public Classification classify(CharSequence title) {
+        if (!enabled) {
+            return classifier.classify(title);
+        }
+        long key = classifier.normalizedHash(title);
+        long start = System.nanoTime();
+        Classification cached = lookup(key);
+        if (lookupTimer != null) {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Classification result = classifier.classify(title);
+        store(key, result);
+        return result;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (table != null) {
+            table.force();
+            file.close();
+        }
+    }
+
+    private Classification lookup(long key) {
+        rollOverIfNewDay();
+        int bucket = bucket(key);
+        int today = dayStamp();
+        StampedLock lock = stripes[bucket & (STRIPES - 1)];
+        long stamp = lock.tryOptimisticRead();
+        long value = find(bucket, key, today);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = find(bucket, key, today);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value == 0 ? null : classifier.result(((int) (value >>> 32) & 0xffff) - 1, Float.intBitsToFloat((int) value));
+    }
+
+    private void store(long key, Classification result) {
+        rollOverIfNewDay();
+        int bucket = bucket(key);
+        int today = dayStamp();
+        long value = (long) today << 48 | (long) (result.label() + 1) << 32
+                | (Float.floatToIntBits(result.getScore()) & 0xffffffffL);
+        StampedLock lock = stripes[bucket & (STRIPES - 1)];
+        long stamp = lock.writeLock();
+        try {
+            int base = HEADER_BYTES + bucket * BUCKET_BYTES;
+            int target = -1;
+            for (int i = 0; i < BUCKET_SLOTS; i++) {
+                int slot = base + i * SLOT_BYTES;
+                long slotKey = table.getLong(slot);
+                if (slotKey == key) {
+                    target = i;
+                    break;
+                }
+                if (slotKey == 0) {
+                    target = target < 0 ? i : target;
+                    break;
+                }
+                // an earlier day's entry is as good as an empty slot, but the key may still follow
+                if (target < 0 && stampOf(table.getLong(slot + 8)) != today) {
+                    target = i;
+                }
+            }
+            if (target < 0) {
+                target = (int) (key >>> 61);
+            }
+            int slot = base + target * SLOT_BYTES;
+            table.putLong(slot, key);
+            table.putLong(slot + 8, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * The value stored today for {@code key}, or 0.
+     */
+    private long find(int bucket, long key, int today) {
+        int base = HEADER_BYTES + bucket * BUCKET_BYTES;
+        for (int i = 0; i < BUCKET_SLOTS; i++) {
+            int slot = base + i * SLOT_BYTES;
+            long slotKey = table.getLong(slot);
+            if (slotKey == key) {
+                long value = table.getLong(slot + 8);
+                return stampOf(value) == today ? value : 0;
+            }
+            if (slotKey == 0) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private int bucket(long key) {
+        return (int) (key ^ (key >>> 32)) & bucketMask;
+    }
+
+    private int dayStamp() {
+        return (int) day & 0xffff;
+    }
+
+    private static int stampOf(long value) {
+        return (int) (value >>> 48);
+    }
+
+    /**
+     * Moves the header on to a new day, which by itself turns every earlier entry into a miss.
+     */
+    private void rollOverIfNewDay() {
+        if (clock.millis() >= nextDayMillis) {
+            synchronized (this) {
+                long today = today();
+                if (today != day) {
+                    writeHeader(today);
+                    log.info("Classification cache rolled over to {}", LocalDate.ofEpochDay(today));
+                }
+            }
+        }
+    }
+
+    private boolean headerMatches(int capacity, long today) throws IOException {
+        file.seek(0);
+        return file.readLong() == MAGIC && file.readInt() == FORMAT && file.readInt() == capacity
+                && file.readLong() == today && file.readLong() == classifier.version();
+    }
+
+    private void writeHeader(long today) {
+        table.putLong(0, MAGIC);
+        table.putInt(8, FORMAT);
+        table.putInt(12, (bucketMask + 1) * BUCKET_SLOTS);
+        table.putLong(16, today);
+        table.putLong(24, classifier.version());
+        day = today;
+        nextDayMillis = startOfDayMillis(today + 1);
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private long startOfDayMillis(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private Timer bindMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("classifier.cache.lookups", hits, LongAdder::sum)
+                .description("Classification cache lookups, by result")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("classifier.cache.lookups", misses, LongAdder::sum)
+                .description("Classification cache lookups, by result")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("classifier.cache.hit.ratio", this, ClassificationCache::hitRatio)
+                .description("Share of classification cache lookups answered from the cache")
+                .register(meterRegistry);
+        return Timer.builder("classifier.cache.lookup")
+                .description("Time to look a title up in the classification cache")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.interview.classifier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classifies a stream of titles, NDJSON (one JSON string or {@code {"title": ...}} object per line)
+ * or a single JSON array of either, into one NDJSON result per title, in input order.
+ *
+ * Titles are read chunk-size at a time. Within a batch, titles are deduplicated by their
+ * {@link TitleClassifier#normalize normalized form}: each distinct form is classified once, the
+ * distinct forms of a chunk in parallel on a fork-join pool, and its result is remembered for the
+ * rest of the batch (up to max-distinct forms, after which that memory starts over). Distinct forms
+ * go through the {@link ClassificationCache}, so titles already classified today are not scored
+ * again. Each chunk's results are written, and flushed, before the next chunk is read, so the batch
+ * can be of any size.
+ * A value with no title string is classified as an empty title, i.e. unknown.
+ */
+@Component
+public class TitleBatchClassifier {
+
+    private static final int LEAF_SIZE = 512;
+
+    private final ClassificationCache classifier;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxDistinct;
+    private final ForkJoinPool pool;
+
+    public TitleBatchClassifier(ClassificationCache classifier,
+                                ObjectMapper objectMapper,
+                                @Value("${app.classifier.batch.chunk-size:65536}") int chunkSize,
+                                @Value("${app.classifier.batch.max-distinct:500000}") int maxDistinct,
+                                @Value("${app.classifier.batch.parallelism:0}") int parallelism) {
+        this.classifier = classifier;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxDistinct = maxDistinct;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Reads titles from {@code in} until it ends and writes their classifications to {@code out}.
+     *
+     * @return the number of titles classified
+     */
+    public long classify(InputStream in, OutputStream out) throws IOException {
+        Map<String, Classification> seen = new HashMap<>();
+        long total = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // results are newline-terminated below, not space-separated
+            generator.setRootValueSeparator(null);
+
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            Classification[] results = new Classification[chunkSize];
+            int[] pendingSlots = new int[chunkSize];
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                // read a chunk; titles seen earlier in the batch are answered right away
+                Map<String, Integer> pendingIds = new HashMap<>();
+                List<String> pending = new ArrayList<>();
+                int count = 0;
+                while (count < chunkSize && token != null && !(array && token == JsonToken.END_ARRAY)) {
+                    String normalized = TitleClassifier.normalize(readTitle(parser, token));
+                    Classification known = seen.get(normalized);
+                    results[count] = known;
+                    if (known == null) {
+                        Integer id = pendingIds.get(normalized);
+                        if (id == null) {
+                            id = pending.size();
+                            pendingIds.put(normalized, id);
+                            pending.add(normalized);
+                        }
+                        pendingSlots[count] = id;
+                    }
+                    count++;
+                    token = parser.nextToken();
+                }
+
+                Classification[] scored = new Classification[pending.size()];
+                Score score = new Score(pending.toArray(new String[0]), scored, 0, scored.length);
+                if (scored.length > LEAF_SIZE) {
+                    pool.invoke(score);
+                } else {
+                    score.compute();
+                }
+                if (seen.size() + scored.length > maxDistinct) {
+                    seen.clear();
+                }
+                for (int i = 0; i < scored.length; i++) {
+                    seen.put(pending.get(i), scored[i]);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    Classification result = results[i] != null ? results[i] : scored[pendingSlots[i]];
+                    generator.writeStartObject();
+                    generator.writeStringField("section", result.getSection());
+                    generator.writeStringField("name", result.getName());
+                    generator.writeNumberField("score", result.getScore());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    results[i] = null;
+                }
+                generator.flush();
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    private static String readTitle(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        String title = "";
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.VALUE_STRING && "title".equals(field)) {
+                    title = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return title;
+    }
+
+    private final class Score extends RecursiveAction {
+        private final String[] titles;
+        private final Classification[] results;
+        private final int from;
+        private final int to;
+
+        Score(String[] titles, Classification[] results, int from, int to) {
+            this.titles = titles;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Score(titles, results, from, mid), new Score(titles, results, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                results[i] = classifier.classify(titles[i]);
+            }
+        }
+    }
+}
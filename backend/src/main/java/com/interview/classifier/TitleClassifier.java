@@ -0,0 +1,305 @@
+package com.interview.classifier;
+
+import com.interview.csv.CsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies repair titles into the parts taxonomy ({@code ml/tax.csv}), answering
+ * {@link #UNKNOWN} for titles that match none of it.
+ *
+ * Built at startup from the taxonomy, whose "section name" texts each count as one example of their
+ * label, and the labeled titles of {@code ml/dataset.csv}, where {@code unknown} rows are examples of
+ * a label of their own. Titles become sets of hashed character n-grams ({@link TitleFeatures})
+ * weighted by idf; each label keeps the normalized centroid of its examples, stored inverted as
+ * arrays of (label, weight) postings per n-gram bucket. A title is scored by walking the postings of
+ * its n-grams, which gives its cosine similarity to every label at once; the best label wins unless
+ * it is the unknown label or scores below {@code app.classifier.min-score}.
+ *
+ * The model is immutable and lookups only use per-thread scratch buffers, so classifying allocates
+ * nothing but the result.
+ */
+@Component
+public class TitleClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleClassifier.class);
+
+    public static final String UNKNOWN = "unknown";
+
+    private static final int UNKNOWN_LABEL = 0;
+
+    private final float minScore;
+    private final Model model;
+    private final long version;
+    private final ThreadLocal<Scratch> scratch;
+
+    public TitleClassifier(@Value("${app.classifier.taxonomy:classpath:classifier/tax.csv}") Resource taxonomy,
+                           @Value("${app.classifier.training-data:classpath:classifier/dataset.csv}") Resource trainingData,
+                           @Value("${app.classifier.min-score:0.1}") double minScore) throws IOException {
+        this.minScore = (float) minScore;
+        long start = System.nanoTime();
+        this.model = train(readCsv(taxonomy), readCsv(trainingData));
+        this.version = model.version * 31 + Float.floatToIntBits(this.minScore);
+        int labels = model.labels.length;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(labels));
+        log.info("Title classifier trained on {} taxonomy labels and {} examples in {} ms",
+                labels - 1, model.examples, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Classification classify(CharSequence title) {
+        Scratch s = scratch.get();
+        int count = s.features.extract(title);
+        if (count == 0) {
+            return model.labels[UNKNOWN_LABEL];
+        }
+        int[] features = s.features.features();
+        float[] scores = s.scores;
+        Arrays.fill(scores, 0f);
+        float norm = 0f;
+        for (int i = 0; i < count; i++) {
+            int bucket = features[i];
+            float weight = model.idf[bucket];
+            norm += weight * weight;
+            for (int p = model.offsets[bucket], end = model.offsets[bucket + 1]; p < end; p++) {
+                scores[model.postingLabels[p]] += weight * model.postingWeights[p];
+            }
+        }
+        int best = UNKNOWN_LABEL;
+        for (int label = 1; label < scores.length; label++) {
+            if (scores[label] > scores[best]) {
+                best = label;
+            }
+        }
+        float score = scores[best] / (float) Math.sqrt(norm);
+        Classification label = model.labels[best];
+        if (best == UNKNOWN_LABEL || score < minScore) {
+            return new Classification(UNKNOWN_LABEL, UNKNOWN, UNKNOWN, score);
+        }
+        return new Classification(best, label.getSection(), label.getName(), score);
+    }
+
+    /**
+     * 64-bit hash of the {@link #normalize normalized form} of {@code title}, without allocating.
+     */
+    long normalizedHash(CharSequence title) {
+        return scratch.get().features.normalizedHash(title);
+    }
+
+    /**
+     * The result naming the model's label {@code label}, with {@code score}; null if there is no
+     * such label.
+     */
+    Classification result(int label, float score) {
+        if (label < 0 || label >= model.labels.length) {
+            return null;
+        }
+        Classification named = model.labels[label];
+        return new Classification(label, named.getSection(), named.getName(), score);
+    }
+
+    /**
+     * Identifies the model: changes whenever the taxonomy, the training data or the minimum score
+     * do, and so whenever a title's classification could.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * The form of {@code title} the classifier sees: lower-case words of letters and digits separated
+     * by single spaces. Titles with the same normalized form get the same classification.
+     */
+    public static String normalize(CharSequence title) {
+        char[] text = new char[TitleFeatures.MAX_CHARS + 2];
+        int length = TitleFeatures.normalize(title, text);
+        return length == 0 ? "" : new String(text, 1, length - 2);
+    }
+
+    /**
+     * Number of taxonomy labels, not counting {@link #UNKNOWN}.
+     */
+    public int labelCount() {
+        return model.labels.length - 1;
+    }
+
+    private static Model train(List<Map<String, String>> taxonomy, List<Map<String, String>> examples) {
+        List<Classification> labels = new ArrayList<>();
+        Map<String, Integer> labelIds = new HashMap<>();
+        labels.add(new Classification(UNKNOWN_LABEL, UNKNOWN, UNKNOWN, 0f));
+        labelIds.put(key(UNKNOWN, UNKNOWN), UNKNOWN_LABEL);
+
+        List<String> texts = new ArrayList<>();
+        List<Integer> textLabels = new ArrayList<>();
+        for (Map<String, String> row : taxonomy) {
+            String section = row.get("section");
+            String name = row.get("name");
+            if (isBlank(section) || isBlank(name) || labelIds.containsKey(key(section, name))) {
+                continue;
+            }
+            labelIds.put(key(section, name), labels.size());
+            texts.add(section + " " + name);
+            textLabels.add(labels.size());
+            labels.add(new Classification(labels.size(), section, name, 0f));
+        }
+        int skipped = 0;
+        for (Map<String, String> row : examples) {
+            Integer label = labelIds.get(key(row.get("section"), row.get("name")));
+            if (label == null || isBlank(row.get("title"))) {
+                skipped++;
+                continue;
+            }
+            texts.add(row.get("title"));
+            textLabels.add(label);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} training examples without a title or with a label missing from the taxonomy", skipped);
+        }
+
+        // distinct features of every text, and the document frequency of each bucket
+        TitleFeatures extractor = new TitleFeatures();
+        int[][] docs = new int[texts.size()][];
+        int[] df = new int[TitleFeatures.BUCKETS];
+        long version = labels.size();
+        for (int d = 0; d < docs.length; d++) {
+            version = version * 31 + TitleFeatures.hash64(texts.get(d)) + textLabels.get(d);
+            int count = extractor.extract(texts.get(d));
+            docs[d] = Arrays.copyOf(extractor.features(), count);
+            for (int bucket : docs[d]) {
+                df[bucket]++;
+            }
+        }
+        float[] idf = new float[TitleFeatures.BUCKETS];
+        for (int bucket = 0; bucket < idf.length; bucket++) {
+            idf[bucket] = (float) (Math.log((docs.length + 1.0) / (df[bucket] + 1.0)) + 1.0);
+        }
+
+        // per label, the normalized sum of its examples' unit tf-idf vectors, as (bucket, weight) pairs
+        float[] centroid = new float[TitleFeatures.BUCKETS];
+        int[][] labelBuckets = new int[labels.size()][];
+        float[][] labelWeights = new float[labels.size()][];
+        int[] postingsPerBucket = new int[TitleFeatures.BUCKETS + 1];
+        for (int label = 0; label < labels.size(); label++) {
+            for (int d = 0; d < docs.length; d++) {
+                if (textLabels.get(d) != label) {
+                    continue;
+                }
+                double docNorm = 0;
+                for (int bucket : docs[d]) {
+                    docNorm += idf[bucket] * idf[bucket];
+                }
+                float scale = (float) (1.0 / Math.sqrt(docNorm));
+                for (int bucket : docs[d]) {
+                    centroid[bucket] += idf[bucket] * scale;
+                }
+            }
+            int nonZero = 0;
+            double norm = 0;
+            for (float w : centroid) {
+                if (w != 0f) {
+                    nonZero++;
+                    norm += w * w;
+                }
+            }
+            labelBuckets[label] = new int[nonZero];
+            labelWeights[label] = new float[nonZero];
+            for (int bucket = 0, i = 0; bucket < centroid.length; bucket++) {
+                if (centroid[bucket] != 0f) {
+                    labelBuckets[label][i] = bucket;
+                    labelWeights[label][i++] = (float) (centroid[bucket] / Math.sqrt(norm));
+                    postingsPerBucket[bucket + 1]++;
+                    centroid[bucket] = 0f;
+                }
+            }
+        }
+
+        // inverted: the postings of bucket b are [offsets[b], offsets[b + 1])
+        int[] offsets = postingsPerBucket;
+        for (int bucket = 0; bucket < TitleFeatures.BUCKETS; bucket++) {
+            offsets[bucket + 1] += offsets[bucket];
+        }
+        int[] next = Arrays.copyOf(offsets, TitleFeatures.BUCKETS);
+        short[] postingLabels = new short[offsets[TitleFeatures.BUCKETS]];
+        float[] postingWeights = new float[postingLabels.length];
+        for (int label = 0; label < labels.size(); label++) {
+            for (int i = 0; i < labelBuckets[label].length; i++) {
+                int p = next[labelBuckets[label][i]]++;
+                postingLabels[p] = (short) label;
+                postingWeights[p] = labelWeights[label][i];
+            }
+        }
+        for (Classification label : labels) {
+            version = version * 31 + TitleFeatures.hash64(key(label.getSection(), label.getName()));
+        }
+        return new Model(labels.toArray(new Classification[0]), idf, offsets, postingLabels, postingWeights,
+                docs.length - (labels.size() - 1), version);
+    }
+
+    private static List<Map<String, String>> readCsv(Resource resource) throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IOException("Empty classifier data file " + resource.getDescription());
+            }
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size() && i < record.size(); i++) {
+                    row.put(header.get(i).trim(), record.get(i).trim());
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static String key(String section, String name) {
+        return section + '\u0000' + name;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static final class Model {
+        final Classification[] labels;
+        final float[] idf;
+        final int[] offsets;
+        final short[] postingLabels;
+        final float[] postingWeights;
+        final int examples;
+        final long version;
+
+        Model(Classification[] labels, float[] idf, int[] offsets, short[] postingLabels, float[] postingWeights,
+              int examples, long version) {
+            this.labels = labels;
+            this.idf = idf;
+            this.offsets = offsets;
+            this.postingLabels = postingLabels;
+            this.postingWeights = postingWeights;
+            this.examples = examples;
+            this.version = version;
+        }
+    }
+
+    private static final class Scratch {
+        final TitleFeatures features = new TitleFeatures();
+        final float[] scores;
+
+        Scratch(int labels) {
+            scores = new float[labels];
+        }
+    }
+}
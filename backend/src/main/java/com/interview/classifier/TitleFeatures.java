@@ -0,0 +1,119 @@
+package com.interview.classifier;
+
+import java.util.Arrays;
+
+/**
+ * Turns a repair title into the hashed character n-grams the classifier scores. The title is
+ * normalized first: letters and digits are lower-cased, every other run of characters becomes one
+ * space, and the result is padded with a space at each end so that n-grams mark word boundaries.
+ * Each 3- to 5-gram is hashed (FNV-1a) into one of {@link #BUCKETS} buckets; a title's features are
+ * its distinct buckets, ascending.
+ *
+ * Works in fixed buffers and allocates nothing per title, so an instance is scratch space for one
+ * thread. Titles are cut at {@link #MAX_CHARS} characters.
+ */
+final class TitleFeatures {
+
+    static final int BUCKET_BITS = 18;
+    static final int BUCKETS = 1 << BUCKET_BITS;
+    static final int MAX_CHARS = 256;
+
+    private static final int MIN_GRAM = 3;
+    private static final int MAX_GRAM = 5;
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final long FNV64_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV64_PRIME = 0x100000001b3L;
+
+    private final char[] text = new char[MAX_CHARS + 2];
+    private final int[] features = new int[(MAX_CHARS + 2) * (MAX_GRAM - MIN_GRAM + 1)];
+
+    /**
+     * Writes the normalized, space-padded form of {@code title} to {@code out}, which must hold
+     * {@link #MAX_CHARS} + 2 characters.
+     *
+     * @return its length, 0 when the title has no letters or digits
+     */
+    static int normalize(CharSequence title, char[] out) {
+        int length = 1;
+        out[0] = ' ';
+        int limit = Math.min(title.length(), MAX_CHARS);
+        for (int i = 0; i < limit; i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out[length++] = Character.toLowerCase(c);
+            } else if (out[length - 1] != ' ') {
+                out[length++] = ' ';
+            }
+        }
+        if (length == 1) {
+            return 0;
+        }
+        if (out[length - 1] != ' ') {
+            out[length++] = ' ';
+        }
+        return length;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of {@code text}, never 0.
+     */
+    static long hash64(CharSequence text) {
+        long hash = FNV64_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV64_PRIME;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * {@link #hash64} of the normalized form of {@code title} (without the padding), computed
+     * without building it.
+     */
+    long normalizedHash(CharSequence title) {
+        int length = normalize(title, text);
+        long hash = FNV64_OFFSET;
+        for (int i = 1; i < length - 1; i++) {
+            hash = (hash ^ text[i]) * FNV64_PRIME;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Extracts the features of {@code title} into {@link #features()}.
+     *
+     * @return how many there are
+     */
+    int extract(CharSequence title) {
+        int length = normalize(title, text);
+        int count = 0;
+        for (int start = 0; start + MIN_GRAM <= length; start++) {
+            int hash = FNV_OFFSET;
+            int end = Math.min(start + MAX_GRAM, length);
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ text[i]) * FNV_PRIME;
+                if (i - start + 1 >= MIN_GRAM) {
+                    features[count++] = (hash ^ (hash >>> BUCKET_BITS)) & (BUCKETS - 1);
+                }
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(features, 0, count);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (features[i] != features[distinct - 1]) {
+                features[distinct++] = features[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * The buffer {@link #extract} fills; only valid up to the count it returned, until the next call.
+     */
+    int[] features() {
+        return features;
+    }
+}
@@ -0,0 +1,106 @@
+package com.interview.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to MVC responses. The container only
+ * knows a response's length, and so only skips compressing small ones, when the response is still
+ * uncommitted at the end of the request; but Spring MVC flushes after writing a body, which commits
+ * it. Flushes, of the stream and of the buffer, are therefore ignored until the response has reached
+ * the threshold; larger and streamed responses flush as before.
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final long threshold;
+
+    public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.threshold = threshold.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new HttpServletResponseWrapper(response) {
+            private FlushDeferringOutputStream stream;
+
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                if (stream == null) {
+                    stream = new FlushDeferringOutputStream(super.getOutputStream(), threshold);
+                }
+                return stream;
+            }
+
+            @Override
+            public void flushBuffer() throws IOException {
+                if (stream == null || stream.reachedThreshold()) {
+                    super.flushBuffer();
+                }
+            }
+        });
+    }
+
+    static final class FlushDeferringOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final long threshold;
+        private long written;
+
+        FlushDeferringOutputStream(ServletOutputStream delegate, long threshold) {
+            this.delegate = delegate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        boolean reachedThreshold() {
+            return written >= threshold;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (reachedThreshold()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
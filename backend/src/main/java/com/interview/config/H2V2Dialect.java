@@ -0,0 +1,22 @@
+package com.interview.config;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.tool.schema.extract.internal.SequenceInformationExtractorLegacyImpl;
+import org.hibernate.tool.schema.extract.spi.SequenceInformationExtractor;
+
+/**
+ * {@link H2Dialect} reading sequence metadata the way H2 2.x reports it: Hibernate 5.4 expects the
+ * 1.4 column names ({@code min_value}, {@code max_value}), which makes schema validation fail.
+ */
+public class H2V2Dialect extends H2Dialect {
+
+    @Override
+    public String getQuerySequencesString() {
+        return "select * from information_schema.sequences";
+    }
+
+    @Override
+    public SequenceInformationExtractor getSequenceInformationExtractor() {
+        return SequenceInformationExtractorLegacyImpl.INSTANCE;
+    }
+}
@@ -0,0 +1,53 @@
+package com.interview.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.interview.protobuf.AutoPartProtobufHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response formats, chosen through the Accept header: Smile ({@code application/x-jackson-smile}),
+ * CBOR ({@code application/cbor}) and, for part responses, protobuf ({@code application/x-protobuf}).
+ *
+ * Smile and CBOR are built from Boot's {@link Jackson2ObjectMapperBuilder}, so they carry exactly the
+ * fields JSON does; Smile also back-references repeated string values such as manufacturers. All three
+ * are appended after JSON, which stays the format for requests that accept anything.
+ */
+@Configuration
+public class MessageFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+
+    public MessageFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this.mapperBuilder = mapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring registers its own when the formats are on the classpath, with a plain mapper
+        converters.removeIf(c -> c instanceof MappingJackson2SmileHttpMessageConverter
+                || c instanceof MappingJackson2CborHttpMessageConverter);
+
+        SmileFactory smile = new SmileFactory();
+        smile.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builder().factory(smile).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(builder().factory(new CBORFactory()).build()));
+        converters.add(new AutoPartProtobufHttpMessageConverter());
+    }
+
+    /**
+     * A fresh builder each time; Boot declares it as a prototype.
+     */
+    private Jackson2ObjectMapperBuilder builder() {
+        return mapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new);
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs {@code app.seed.script} when the parts table is empty, i.e. on the first start against a
+ * persistent database; later starts keep whatever the database holds. Runs before the application
+ * is ready, so the startup index builds see the seeded rows.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seed.script")
+public class SeedDataLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataLoader.class);
+
+    private final DataSource dataSource;
+    private final Resource script;
+
+    public SeedDataLoader(DataSource dataSource, @Value("${app.seed.script}") Resource script) {
+        this.dataSource = dataSource;
+        this.script = script;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Boolean empty = new JdbcTemplate(dataSource)
+                .queryForObject("SELECT NOT EXISTS (SELECT 1 FROM AUTO_PART)", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            new ResourceDatabasePopulator(script).execute(dataSource);
+            log.info("Seeded empty database from {}", script.getDescription());
+        }
+    }
+}
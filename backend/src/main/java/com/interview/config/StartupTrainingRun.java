@@ -0,0 +1,39 @@
+package com.interview.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Build-time run of the application ({@code app.startup.training-run=true}): once it is ready, serves
+ * a few typical reads over HTTP and exits. The {@code fast-startup} Maven profile runs it with
+ * {@code -XX:ArchiveClassesAtExit}, so the class-data-sharing archive also holds the classes of the
+ * first request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.training-run", havingValue = "true")
+public class StartupTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTrainingRun.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void exerciseAndExit(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/parts";
+        RestTemplate http = new RestTemplate();
+        http.getForObject(base, String.class);
+        http.getForObject(base + "/1", String.class);
+        http.getForObject(base + "/paged?page=0&size=5", String.class);
+        log.info("Training run done, exiting");
+        System.exit(SpringApplication.exit(context));
+    }
+}
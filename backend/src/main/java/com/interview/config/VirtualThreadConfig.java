@@ -0,0 +1,76 @@
+package com.interview.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in mode ({@code app.threads.virtual.enabled=true}, Java 21+) that runs every servlet request,
+ * and with it the transactional service calls it makes, on its own virtual thread instead of the
+ * bounded Tomcat pool. Async MVC work (streamed responses) runs on virtual threads too.
+ *
+ * Since request concurrency is then unbounded, the DataSource is wrapped in a
+ * {@link ConnectionBulkheadDataSource} sized to the Hikari pool: requests queue for a connection
+ * in FIFO order instead of all contending on the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final ExecutorService requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(requestExecutor));
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource)) {
+                    return bean;
+                }
+                int maxConnections = ((HikariDataSource) bean).getMaximumPoolSize();
+                long maxWaitMillis = environment.getProperty("app.datasource.bulkhead.max-wait-ms", Long.class, 30_000L);
+                return new ConnectionBulkheadDataSource((DataSource) bean, maxConnections, maxWaitMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionBulkheadMetrics(DataSource dataSource) {
+        return meters -> {
+            if (dataSource instanceof ConnectionBulkheadDataSource) {
+                Gauge.builder("jdbc.connections.bulkhead.waiting", (ConnectionBulkheadDataSource) dataSource,
+                        ConnectionBulkheadDataSource::getWaiting)
+                        .description("Threads queued for a database connection")
+                        .register(meters);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requestExecutor.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread executors, looked up reflectively so that the code still compiles for Java 8 and
+ * only needs Java 21 at runtime when the virtual thread mode is switched on.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Executor starting a new virtual thread, named {@code prefix + n}, for every task.
+     *
+     * @throws IllegalStateException when the running JVM has no virtual threads
+     */
+    static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            // through the public Thread.Builder interface; the implementation class is not exported
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("app.threads.virtual.enabled needs Java 21 or newer, running on "
+                    + System.getProperty("java.version"), ex);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Could not create a virtual thread executor", ex);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.interview.config;
+
+import com.interview.metrics.StatementCountInterceptor;
+import com.interview.ratelimit.AdaptiveConcurrencyLimiter;
+import com.interview.ratelimit.ConcurrencyLimitInterceptor;
+import com.interview.ratelimit.ClientRateLimiter;
+import com.interview.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<ClientRateLimiter> rateLimiter;
+    private final ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter;
+    private final boolean rateLimitEnabled;
+    private final String rateLimitClientHeader;
+    private final boolean concurrencyLimitEnabled;
+
+    public WebConfig(ObjectProvider<MeterRegistry> meterRegistry,
+                     ObjectProvider<ClientRateLimiter> rateLimiter,
+                     ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter,
+                     @Value("${app.ratelimit.enabled:true}") boolean rateLimitEnabled,
+                     @Value("${app.ratelimit.client-header:X-API-Key}") String rateLimitClientHeader,
+                     @Value("${app.concurrency.enabled:true}") boolean concurrencyLimitEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.rateLimitClientHeader = rateLimitClientHeader;
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // none of these is present in MVC test slices, which only load the web layer
+        if (rateLimitEnabled) {
+            rateLimiter.ifAvailable(limiter ->
+                    registry.addInterceptor(new RateLimitInterceptor(limiter, rateLimitClientHeader)).addPathPatterns("/api/**"));
+        }
+        // after the rate limit, so requests over a client's budget never take a concurrency permit
+        if (concurrencyLimitEnabled) {
+            concurrencyLimiter.ifAvailable(limiter ->
+                    registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter)).addPathPatterns("/api/**"));
+        }
+        meterRegistry.ifAvailable(meters ->
+                registry.addInterceptor(new StatementCountInterceptor(meters)).addPathPatterns("/api/**"));
+    }
+}
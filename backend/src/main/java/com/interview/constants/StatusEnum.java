@@ -3,7 +3,8 @@ package com.interview.constants;
 /**
  * StatusEnum represents the status of an entity, indicating whether it is active or deleted.
  *
- * Currently, its now in use but can be utilized in future enhancements for managing entity states.
+ * New parts are ACTIVE. With soft delete enabled (app.delete.soft) a delete only flips the status to
+ * DELETED; such rows are hidden from reads and removed later by the background purge.
  *
  */
 public enum StatusEnum {
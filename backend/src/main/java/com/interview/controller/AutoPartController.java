@@ -1,25 +1,67 @@
 package com.interview.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.interview.dto.*;
+import com.interview.exception.BadRequestException;
+import com.interview.protobuf.AutoPartProtobufHttpMessageConverter;
+import com.interview.ratelimit.EndpointClass;
+import com.interview.ratelimit.Priority;
+import com.interview.ratelimit.RateLimitClass;
+import com.interview.ratelimit.RequestPriority;
+import com.interview.repository.ChangeStamp;
+import com.interview.service.AutoPartCsvService;
 import com.interview.service.AutoPartService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
-@RateLimiter(name = "myApiRateLimiter", fallbackMethod = "rateLimiterFallback")
 @RestController
 @RequestMapping("/api/v1/parts")
 public class AutoPartController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int STREAM_FLUSH_EVERY = 1000;
+
+    // the formats a part or list of parts can be written in, in converter order; JSON comes first
+    private static final List<MediaType> PART_FORMATS = Arrays.asList(
+            MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"),
+            MediaType.APPLICATION_CBOR,
+            AutoPartProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+
     private final AutoPartService service;
+    private final AutoPartCsvService csvService;
+    private final ObjectMapper objectMapper;
 
-    public AutoPartController(AutoPartService service) {
+    public AutoPartController(AutoPartService service, AutoPartCsvService csvService, ObjectMapper objectMapper) {
         this.service = service;
+        this.csvService = csvService;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -29,29 +71,120 @@ public class AutoPartController {
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * Creates or updates (items with an id) many parts in one request, with a result per item.
+     */
+    @RequestPriority(Priority.SHEDDABLE)
+    @PostMapping("/bulk")
+    public ResponseEntity<AutoPartBulkResponse> bulkUpsertParts(@RequestBody List<AutoPartRequest> requests) {
+        return ResponseEntity.ok(service.bulkUpsert(requests));
+    }
+
+    /**
+     * Conditional on If-None-Match (the version, as returned by PUT/PATCH) or If-Modified-Since;
+     * 304 when the client's copy is current. The validators come from the part itself, which is
+     * usually cached, so either answer costs at most one load.
+     */
+    @RequestPriority(Priority.CRITICAL)
     @GetMapping("/{id}")
-    public ResponseEntity<AutoPartResponse> getPartById(@PathVariable Long id) {
+    public ResponseEntity<AutoPartResponse> getPartById(@PathVariable Long id, WebRequest request) {
         AutoPartResponse resp = service.getById(id);
+        String etag = versionTag(resp.getVersion() == null ? 0 : resp.getVersion(), request);
+        if (request.checkNotModified(etag, lastModifiedMillis(resp))) {
+            return null;
+        }
         return ResponseEntity.ok(resp);
     }
 
+    @RequestPriority(Priority.SHEDDABLE)
     @GetMapping
-    public ResponseEntity<List<AutoPartResponse>> getAllParts() {
+    public ResponseEntity<List<AutoPartResponse>> getAllParts(WebRequest request) {
+        if (notModified(service.allPartsStamp(), request)) {
+            return null;
+        }
         List<AutoPartResponse> resp = service.getAll();
         return ResponseEntity.ok(resp);
     }
 
+    @GetMapping("/category/{category}")
+    public ResponseEntity<List<AutoPartResponse>> getPartsByCategory(@PathVariable String category, WebRequest request) {
+        if (notModified(service.categoryStamp(category), request)) {
+            return null;
+        }
+        return ResponseEntity.ok(service.getByCategory(category));
+    }
+
+    /**
+     * Full catalog as newline-delimited JSON, written row by row as it is read from the database.
+     */
+    @RequestPriority(Priority.SHEDDABLE)
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllParts() {
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writerFor(AutoPartResponse.class);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // rows are newline-terminated below, not space-separated
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                service.streamAll(part -> {
+                    try {
+                        writer.writeValue(generator, part);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * Loads a CSV file (header: name, manufacturer, price, category, stockQuantity) streamed as the
+     * request body; rows that fail validation are skipped and reported by line.
+     */
+    @RequestPriority(Priority.SHEDDABLE)
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<AutoPartImportResponse> importParts(InputStream body) throws IOException {
+        return ResponseEntity.ok(csvService.importCsv(body));
+    }
+
+    /**
+     * Full catalog as CSV, written row by row as it is read from the database.
+     */
+    @RequestPriority(Priority.SHEDDABLE)
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportParts() {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            csvService.exportCsv(writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"parts.csv\"")
+                .body(body);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<AutoPartResponse>> getPartsByName(@RequestParam("name") String name) {
         List<AutoPartResponse> resp = service.getByName(name);
         return ResponseEntity.ok(resp);
     }
 
+    @RequestPriority(Priority.SHEDDABLE)
     @GetMapping("/paged")
     public ResponseEntity<PagedResponse<AutoPartResponse>> getPartsPaged(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            WebRequest request) {
 
+        if (notModified(service.allPartsStamp(), request)) {
+            return null;
+        }
         Page<AutoPartResponse> p = service.getAllPaged(page, size);
         PagedResponse<AutoPartResponse> response = new PagedResponse<>(
                 p.getContent(),
@@ -63,6 +196,29 @@ public class AutoPartController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset-paginated listing; pass the previous response's nextCursor to get the following page.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPagedResponse<AutoPartResponse>> getPartsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+
+        AutoPartQueryRequest.Pagination pagination = new AutoPartQueryRequest.Pagination();
+        pagination.setCursor(cursor);
+        pagination.setSize(size);
+        pagination.setSortBy(sortBy);
+        pagination.setDirection(direction);
+        pagination.setIncludeTotal(includeTotal);
+        AutoPartQueryRequest request = new AutoPartQueryRequest();
+        request.setPagination(pagination);
+        return ResponseEntity.ok(service.queryByCursor(request));
+    }
+
+    @RateLimitClass(EndpointClass.READ)
     @PostMapping("/search")
     public ResponseEntity<List<AutoPartResponse>> findByExample(@RequestBody AutoPartRequest dto) {
         List<AutoPartResponse> resp = service.findByExample(dto);
@@ -74,26 +230,86 @@ public class AutoPartController {
         return ResponseEntity.ok(service.count());
     }
 
+    @RateLimitClass(EndpointClass.READ)
     @PostMapping("/count")
     public ResponseEntity<Long> countByExample(@RequestBody AutoPartRequest dto) {
         return ResponseEntity.ok(service.countByExample(dto));
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> readCacheStats() {
+        return ResponseEntity.ok(service.readCacheStats());
+    }
+
     @GetMapping("/total-value-per-category")
     public ResponseEntity<List<AutoPartTotalValuePerCategoryResponse>> getTotalValuePerCategory() {
         List<AutoPartTotalValuePerCategoryResponse> resp = service.getTotalValuePerCategory();
         return ResponseEntity.ok(resp);
     }
 
+    @RequestPriority(Priority.SHEDDABLE)
+    @GetMapping("/total-value-per-category/verify")
+    public ResponseEntity<AutoPartValuationCheckResponse> verifyTotalValuePerCategory() {
+        return ResponseEntity.ok(service.verifyTotalValuePerCategory());
+    }
+
+    @RequestPriority(Priority.SHEDDABLE)
+    @RateLimitClass(EndpointClass.READ)
     @PostMapping("/query")
     public ResponseEntity<Map<String, Object>> queryAutoParts(@Valid @RequestBody AutoPartQueryRequest queryRequest) {
         return ResponseEntity.ok(service.query(queryRequest));
     }
 
+    @RateLimitClass(EndpointClass.READ)
+    @PostMapping("/query/cursor")
+    public ResponseEntity<CursorPagedResponse<AutoPartResponse>> queryAutoPartsByCursor(@Valid @RequestBody AutoPartQueryRequest queryRequest) {
+        return ResponseEntity.ok(service.queryByCursor(queryRequest));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<AutoPartResponse> updatePart(@PathVariable Long id, @Valid @RequestBody AutoPartRequest dto) {
+    public ResponseEntity<AutoPartResponse> updatePart(@PathVariable Long id, @Valid @RequestBody AutoPartRequest dto,
+                                                       WebRequest request) {
         AutoPartResponse updated = service.update(id, dto);
-        return ResponseEntity.ok(updated);
+        return withETag(updated, request);
+    }
+
+    /**
+     * Updates only the fields present in the body. With an If-Match header carrying the ETag of an
+     * earlier response the update is conditional, answered with 412 if the part changed since.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<AutoPartResponse> patchPart(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Valid @RequestBody AutoPartPatchRequest dto,
+                                                      WebRequest request) {
+        AutoPartResponse patched = service.patch(id, dto, expectedVersion(ifMatch));
+        return withETag(patched, request);
+    }
+
+    /**
+     * Takes stock atomically; 409 when the part has less than the requested quantity.
+     */
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<StockLevelResponse> reserveStock(@PathVariable Long id, @Valid @RequestBody StockQuantityRequest dto) {
+        return ResponseEntity.ok(service.reserve(id, dto.getQuantity()));
+    }
+
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<StockLevelResponse> releaseStock(@PathVariable Long id, @Valid @RequestBody StockQuantityRequest dto) {
+        return ResponseEntity.ok(service.release(id, dto.getQuantity()));
+    }
+
+    @PostMapping("/{id}/stock/adjust")
+    public ResponseEntity<StockLevelResponse> adjustStock(@PathVariable Long id, @RequestParam("delta") int delta) {
+        return ResponseEntity.ok(service.adjustStock(id, delta));
+    }
+
+    /**
+     * Applies many (id, delta) pairs in one transaction; either all of them succeed or none do.
+     */
+    @PostMapping("/stock/adjust")
+    public ResponseEntity<List<StockLevelResponse>> adjustStockBatch(@RequestBody List<StockAdjustmentRequest> adjustments) {
+        return ResponseEntity.ok(service.adjustStock(adjustments));
     }
 
     @DeleteMapping("/{id}")
@@ -102,8 +318,113 @@ public class AutoPartController {
         return ResponseEntity.noContent().build();
     }
 
-    public ResponseEntity<String> rateLimiterFallback(Throwable t) {
-        t.printStackTrace(); // for debugging purposes
-        return ResponseEntity.status(429).body("Too Many Requests: Rate limit exceeded.");
+    /**
+     * Deletes every part matching the filter (e.g. a discontinued manufacturer line) in one request.
+     */
+    @RequestPriority(Priority.SHEDDABLE)
+    @PostMapping("/delete")
+    public ResponseEntity<AutoPartBulkDeleteResponse> deleteByFilter(@RequestBody AutoPartQueryRequest.Filter filter) {
+        return ResponseEntity.ok(service.deleteByFilter(filter));
+    }
+
+    private static ResponseEntity<AutoPartResponse> withETag(AutoPartResponse part, WebRequest request) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (part.getVersion() != null) {
+            ok.eTag(versionTag(part.getVersion(), request));
+        }
+        return ok.body(part);
+    }
+
+    private static String versionTag(long version, WebRequest request) {
+        return formatTag(String.valueOf(version), request);
+    }
+
+    /**
+     * The ETag of the representation the request will be answered with: {@code value} as is for JSON,
+     * followed by the format's subtype (as in {@code "7+x-protobuf"}) for the binary ones, so that a
+     * validator kept from one format never matches another. Also sets Vary: Accept, which a 304
+     * otherwise goes without.
+     */
+    private static String formatTag(String value, WebRequest request) {
+        HttpServletResponse response = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+        if (response != null && !response.containsHeader(HttpHeaders.VARY)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        MediaType format = negotiatedFormat(request.getHeader(HttpHeaders.ACCEPT));
+        return format.equals(MediaType.APPLICATION_JSON)
+                ? "\"" + value + "\""
+                : "\"" + value + "+" + format.getSubtype() + "\"";
+    }
+
+    /**
+     * The format the converters will pick for {@code accept}: the first of {@link #PART_FORMATS}
+     * the most preferred acceptable type allows, JSON when there is none or the header is malformed.
+     */
+    private static MediaType negotiatedFormat(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : PART_FORMATS) {
+                if (type.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * The part's last write as epoch millis, or -1 when it carries no timestamp (as for seeded data).
+     */
+    private static long lastModifiedMillis(AutoPartResponse part) {
+        LocalDateTime modified = part.getUpdateDate() != null ? part.getUpdateDate() : part.getCreateDate();
+        return modified == null ? -1 : modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Checks the request's validators against a collection stamp (count, version sum and latest
+     * write). Sets ETag / Last-Modified on the response either way and, when the client's copy is
+     * current, the 304 status that a null return then leaves in place.
+     */
+    private static boolean notModified(ChangeStamp stamp, WebRequest request) {
+        if (stamp == null) {
+            return false;
+        }
+        String etag = formatTag(stamp.getCount() + "-" + stamp.getVersionSum() + "-" + stamp.lastModifiedMillis(), request);
+        return request.checkNotModified(etag, stamp.lastModifiedMillis());
+    }
+
+    /**
+     * Version named by an If-Match header, or null (unconditional) when absent or "*". The tag of
+     * any format names the same version.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int format = tag.indexOf('+');
+        if (format > 0) {
+            tag = tag.substring(0, format);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Malformed If-Match header " + ifMatch);
+        }
     }
 }
\ No newline at end of file
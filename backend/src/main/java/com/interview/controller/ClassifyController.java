@@ -0,0 +1,59 @@
+package com.interview.controller;
+
+import com.interview.classifier.Classification;
+import com.interview.classifier.ClassificationCache;
+import com.interview.classifier.TitleBatchClassifier;
+import com.interview.dto.ClassifyRequest;
+import com.interview.dto.ClassifyResponse;
+import com.interview.ratelimit.EndpointClass;
+import com.interview.ratelimit.Priority;
+import com.interview.ratelimit.RateLimitClass;
+import com.interview.ratelimit.RequestPriority;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.validation.Valid;
+import java.io.InputStream;
+
+import static com.interview.controller.AutoPartController.APPLICATION_NDJSON_VALUE;
+
+@RestController
+@RequestMapping("/api/v1/classify")
+public class ClassifyController {
+
+    private final ClassificationCache classifier;
+    private final TitleBatchClassifier batchClassifier;
+
+    public ClassifyController(ClassificationCache classifier, TitleBatchClassifier batchClassifier) {
+        this.classifier = classifier;
+        this.batchClassifier = batchClassifier;
+    }
+
+    /**
+     * Taxonomy section and name of a repair title, both "unknown" when it matches none.
+     */
+    @RateLimitClass(EndpointClass.READ)
+    @PostMapping
+    public ResponseEntity<ClassifyResponse> classify(@Valid @RequestBody ClassifyRequest request) {
+        Classification result = classifier.classify(request.getTitle());
+        return ResponseEntity.ok(new ClassifyResponse(result.getSection(), result.getName(), result.getScore()));
+    }
+
+    /**
+     * Classifies a batch of titles streamed as NDJSON (a JSON string or {"title": ...} per line) or
+     * sent as a JSON array, answering one NDJSON result per title in input order.
+     */
+    @RateLimitClass(EndpointClass.READ)
+    @RequestPriority(Priority.SHEDDABLE)
+    @PostMapping(value = "/batch", consumes = {APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> classifyBatch(InputStream body) {
+        StreamingResponseBody results = out -> batchClassifier.classify(body, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(results);
+    }
+}
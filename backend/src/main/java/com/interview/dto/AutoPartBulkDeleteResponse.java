@@ -0,0 +1,16 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoPartBulkDeleteResponse {
+    private int deleted;
+    // true when the rows were only marked DELETED and await the background purge
+    private boolean soft;
+}
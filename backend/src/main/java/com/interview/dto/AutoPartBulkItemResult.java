@@ -0,0 +1,22 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoPartBulkItemResult {
+
+    public enum Status { CREATED, UPDATED, FAILED }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private Map<String, String> errors;
+}
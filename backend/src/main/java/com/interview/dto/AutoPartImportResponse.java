@@ -0,0 +1,29 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoPartImportResponse {
+    private long imported;
+    private long failed;
+    // the first app.import.max-reported-errors rejected rows; errorsTruncated when there were more
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private Map<String, String> errors;
+    }
+}
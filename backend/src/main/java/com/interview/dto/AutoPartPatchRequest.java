@@ -0,0 +1,33 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+
+/**
+ * Partial update: only the non-null fields are written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoPartPatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Part name cannot be empty")
+    private String name;
+
+    @Pattern(regexp = ".*\\S.*", message = "Manufacturer cannot be empty")
+    private String manufacturer;
+
+    @Min(value = 0, message = "Price must be positive")
+    private Double price;
+
+    private String category;
+
+    @Min(value = 0, message = "Stock must be positive")
+    private Integer stockQuantity;
+}
@@ -41,6 +41,8 @@ public class AutoPartQueryRequest {
         private int size = 10;
         private String sortBy = "id";
         private String direction = "asc";
+        private String cursor;               // keyset paging only; null for the first page
+        private boolean includeTotal = false; // keyset paging only; adds a count(*)
 
         public int getPage() { return page; }
         public void setPage(int page) { this.page = page; }
@@ -53,6 +55,12 @@ public class AutoPartQueryRequest {
 
         public String getDirection() { return direction; }
         public void setDirection(String direction) { this.direction = direction; }
+
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
+
+        public boolean isIncludeTotal() { return includeTotal; }
+        public void setIncludeTotal(boolean includeTotal) { this.includeTotal = includeTotal; }
     }
 
     public static class Aggregation {
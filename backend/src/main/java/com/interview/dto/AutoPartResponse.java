@@ -21,5 +21,6 @@ public class AutoPartResponse {
     private LocalDateTime createDate;
     private LocalDateTime updateDate;
     private String status;
+    private Long version;
 }
 
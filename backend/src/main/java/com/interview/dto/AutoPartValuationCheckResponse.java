@@ -0,0 +1,28 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutoPartValuationCheckResponse {
+    private boolean consistent;
+    private List<CategoryCheck> categories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CategoryCheck {
+        private String category;
+        private Double trackedValue;
+        private Double recomputedValue;
+        private boolean matches;
+    }
+}
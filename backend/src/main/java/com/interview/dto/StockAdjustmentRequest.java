@@ -0,0 +1,24 @@
+package com.interview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Signed change to one part's stock: negative takes stock, positive returns it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAdjustmentRequest {
+
+    @NotNull(message = "Part id is required")
+    private Long id;
+
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
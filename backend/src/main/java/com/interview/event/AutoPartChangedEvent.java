@@ -0,0 +1,51 @@
+package com.interview.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by the service for every write, inside the writing transaction. Each change carries
+ * the row before and after the write; {@code before} is null for inserts and {@code after} is null
+ * for deletes.
+ */
+public class AutoPartChangedEvent {
+
+    private final List<Change> changes;
+
+    public AutoPartChangedEvent(List<Change> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public static AutoPartChangedEvent created(AutoPartSnapshot after) {
+        return new AutoPartChangedEvent(Collections.singletonList(new Change(null, after)));
+    }
+
+    public static AutoPartChangedEvent updated(AutoPartSnapshot before, AutoPartSnapshot after) {
+        return new AutoPartChangedEvent(Collections.singletonList(new Change(before, after)));
+    }
+
+    public static AutoPartChangedEvent deleted(AutoPartSnapshot before) {
+        return new AutoPartChangedEvent(Collections.singletonList(new Change(before, null)));
+    }
+
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public static final class Change {
+        private final AutoPartSnapshot before;
+        private final AutoPartSnapshot after;
+
+        public Change(AutoPartSnapshot before, AutoPartSnapshot after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        public AutoPartSnapshot getBefore() { return before; }
+        public AutoPartSnapshot getAfter() { return after; }
+
+        public Long getId() {
+            return after != null ? after.getId() : before.getId();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.interview.event;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.model.AutoPartEntity;
+
+/**
+ * Immutable copy of the fields of an {@link AutoPartEntity} at one point of a write,
+ * safe to hand to listeners after the persistence context is gone.
+ */
+public final class AutoPartSnapshot {
+
+    private final Long id;
+    private final String name;
+    private final String manufacturer;
+    private final Double price;
+    private final CategoryEnum category;
+    private final Integer stockQuantity;
+
+    public AutoPartSnapshot(Long id, String name, String manufacturer, Double price,
+                            CategoryEnum category, Integer stockQuantity) {
+        this.id = id;
+        this.name = name;
+        this.manufacturer = manufacturer;
+        this.price = price;
+        this.category = category;
+        this.stockQuantity = stockQuantity;
+    }
+
+    public static AutoPartSnapshot of(AutoPartEntity e) {
+        return new AutoPartSnapshot(e.getId(), e.getName(), e.getManufacturer(), e.getPrice(),
+                e.getCategory(), e.getStockQuantity());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getManufacturer() { return manufacturer; }
+    public Double getPrice() { return price; }
+    public CategoryEnum getCategory() { return category; }
+    public Integer getStockQuantity() { return stockQuantity; }
+
+    /**
+     * Inventory value (price * stockQuantity), or 0 when either side is unknown.
+     */
+    public double inventoryValue() {
+        return price == null || stockQuantity == null ? 0.0 : price * stockQuantity;
+    }
+
+    public boolean isValued() {
+        return price != null && stockQuantity != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.interview.exception;
+
+/**
+ * The request itself is invalid: an unknown category, field or cursor, a value out of range or a
+ * malformed header. Answered with 400; any other exception is a server error.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.interview.exception;
+
+/**
+ * A conditional write (If-Match) found the part at a different version than the client last saw.
+ */
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
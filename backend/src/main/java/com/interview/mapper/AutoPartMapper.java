@@ -17,6 +17,7 @@ public class AutoPartMapper {
                 .createDate(e.getCreateDate())
                 .updateDate(e.getUpdateDate())
                 .status(e.getStatus() == null ? null : e.getStatus().name())
+                .version(e.getVersion())
                 .build();
     }
 
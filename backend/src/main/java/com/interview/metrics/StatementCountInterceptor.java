@@ -0,0 +1,63 @@
+package com.interview.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the number of SQL statements each request issued as the {@code http.server.requests.statements}
+ * summary, tagged like {@code http.server.requests} with method and URI template. One summary per
+ * method and template is registered on first use and reused, so a request only records.
+ *
+ * For async and streamed endpoints the value recorded is that of the async re-dispatch, which
+ * resets the count again: statements of the original dispatch, and those run on another thread
+ * while the response is produced, are not included.
+ */
+public class StatementCountInterceptor implements HandlerInterceptor {
+
+    static final String METRIC = "http.server.requests.statements";
+
+    private final MeterRegistry meterRegistry;
+    // by URI template, then method
+    private final ConcurrentMap<String, ConcurrentMap<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+
+    public StatementCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCountingInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        summary(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString())
+                .record(StatementCountingInspector.current());
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        ConcurrentMap<String, DistributionSummary> byMethod = summaries.get(uri);
+        if (byMethod == null) {
+            byMethod = summaries.computeIfAbsent(uri, u -> new ConcurrentHashMap<>());
+        }
+        DistributionSummary summary = byMethod.get(method);
+        if (summary == null) {
+            summary = byMethod.computeIfAbsent(method, m -> DistributionSummary.builder(METRIC)
+                    .description("SQL statements prepared while handling a request")
+                    .tag("method", m)
+                    .tag("uri", uri)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        return summary;
+    }
+}
@@ -2,6 +2,7 @@ package com.interview.model;
 
 import com.interview.constants.CategoryEnum;
 import lombok.*;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import javax.validation.constraints.Min;
@@ -10,15 +11,30 @@ import javax.validation.constraints.NotNull;
 
 
 @Entity
-@Table(name = "AUTO_PART")
+@Table(name = "AUTO_PART", indexes = {
+        @Index(name = "IDX_AUTO_PART_CATEGORY_PRICE", columnList = "CATEGORY, PRICE"),
+        @Index(name = "IDX_AUTO_PART_NAME", columnList = "NAME"),
+        @Index(name = "IDX_AUTO_PART_PRICE", columnList = "PRICE"),
+        @Index(name = "IDX_AUTO_PART_STOCK_QUANTITY", columnList = "STOCK_QUANTITY"),
+        @Index(name = "IDX_AUTO_PART_STATUS", columnList = "STATUS")
+})
+// soft-deleted rows are invisible to every entity read until the purge removes them
+@Where(clause = AutoPartEntity.LIVE_ROWS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AutoPartEntity extends BaseEntity {
 
+    // SQL condition selecting rows that are not soft-deleted; rows seeded by SQL have no status
+    public static final String LIVE_ROWS = "(STATUS IS NULL OR STATUS <> 'DELETED')";
+    // ids handed out per AUTO_PART_SEQ value (pooled-lo: value v reserves v .. v + ID_BLOCK_SIZE - 1)
+    public static final int ID_BLOCK_SIZE = 50;
+
+    // A pooled sequence (not IDENTITY) so Hibernate can assign ids up front and batch the INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auto_part_seq")
+    @SequenceGenerator(name = "auto_part_seq", sequenceName = "AUTO_PART_SEQ", allocationSize = ID_BLOCK_SIZE)
     @Column(name = "ID")
     private Long id;
 
@@ -43,4 +59,9 @@ public class AutoPartEntity extends BaseEntity {
     @Min(value = 0, message = "Stock must be positive")
     @Column(name = "STOCK_QUANTITY", nullable = false)
     private Integer stockQuantity;
+
+    // Bumped on every write, including the SQL-level stock and PATCH updates; sent to clients as the ETag
+    @Version
+    @Column(name = "VERSION", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ public abstract class BaseEntity implements Serializable {
     protected LocalDateTime updateDate;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS")
     private StatusEnum status;
 
     public LocalDateTime getCreateDate() {
@@ -48,6 +49,9 @@ public abstract class BaseEntity implements Serializable {
     @PrePersist
     protected void onCreate() {
         createDate = LocalDateTime.now();
+        if (status == null) {
+            status = StatusEnum.ACTIVE;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,201 @@
+package com.interview.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.CursorPagedResponse;
+import com.interview.dto.PagedResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+/**
+ * Writes part responses as protocol buffers, in the messages of {@code src/main/proto/auto_part.proto}:
+ * an {@link AutoPartResponse} as {@code AutoPart}, a list of them as {@code AutoPartList}, and a
+ * {@link PagedResponse} or {@link CursorPagedResponse} of them as {@code AutoPartPage}.
+ *
+ * The messages are encoded field by field with {@link CodedOutputStream}, so no generated classes
+ * are involved. Write-only; other body types are left to the other converters.
+ */
+public class AutoPartProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.valueOf(APPLICATION_PROTOBUF_VALUE);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public AutoPartProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AutoPartResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPartMessage(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    private static boolean isPartMessage(Type type) {
+        if (type == AutoPartResponse.class) {
+            return true;
+        }
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterized = (ParameterizedType) type;
+        Type raw = parameterized.getRawType();
+        boolean container = raw instanceof Class && (Collection.class.isAssignableFrom((Class<?>) raw)
+                || raw == PagedResponse.class || raw == CursorPagedResponse.class);
+        return container && parameterized.getActualTypeArguments()[0] == AutoPartResponse.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        if (body instanceof AutoPartResponse) {
+            writePart(out, (AutoPartResponse) body);
+        } else if (body instanceof Collection) {
+            writeParts(out, (Collection<AutoPartResponse>) body);
+        } else if (body instanceof PagedResponse) {
+            PagedResponse<AutoPartResponse> page = (PagedResponse<AutoPartResponse>) body;
+            writeParts(out, page.getContent());
+            out.writeInt32(2, page.getPage());
+            out.writeInt32(3, page.getSize());
+            out.writeInt64(4, page.getTotalElements());
+            out.writeInt32(5, page.getTotalPages());
+        } else {
+            CursorPagedResponse<AutoPartResponse> page = (CursorPagedResponse<AutoPartResponse>) body;
+            writeParts(out, page.getContent());
+            out.writeInt32(3, page.getSize());
+            if (page.getTotalElements() != null) {
+                out.writeInt64(4, page.getTotalElements());
+            }
+            if (page.getNextCursor() != null) {
+                out.writeString(6, page.getNextCursor());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Field 1, repeated, of both {@code AutoPartList} and {@code AutoPartPage}.
+     */
+    private static void writeParts(CodedOutputStream out, Collection<AutoPartResponse> parts) throws IOException {
+        if (parts == null) {
+            return;
+        }
+        for (AutoPartResponse part : parts) {
+            out.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(partSize(part));
+            writePart(out, part);
+        }
+    }
+
+    private static void writePart(CodedOutputStream out, AutoPartResponse p) throws IOException {
+        if (p.getId() != null) {
+            out.writeInt64(1, p.getId());
+        }
+        if (p.getName() != null) {
+            out.writeString(2, p.getName());
+        }
+        if (p.getManufacturer() != null) {
+            out.writeString(3, p.getManufacturer());
+        }
+        if (p.getPrice() != null) {
+            out.writeDouble(4, p.getPrice());
+        }
+        if (p.getCategory() != null) {
+            out.writeString(5, p.getCategory());
+        }
+        if (p.getStockQuantity() != null) {
+            out.writeInt32(6, p.getStockQuantity());
+        }
+        if (p.getCreateDate() != null) {
+            out.writeInt64(7, micros(p.getCreateDate()));
+        }
+        if (p.getUpdateDate() != null) {
+            out.writeInt64(8, micros(p.getUpdateDate()));
+        }
+        if (p.getStatus() != null) {
+            out.writeString(9, p.getStatus());
+        }
+        if (p.getVersion() != null) {
+            out.writeInt64(10, p.getVersion());
+        }
+    }
+
+    /**
+     * Encoded length of {@link #writePart}, which has to precede the part as a nested message.
+     */
+    private static int partSize(AutoPartResponse p) {
+        int size = 0;
+        if (p.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, p.getId());
+        }
+        if (p.getName() != null) {
+            size += CodedOutputStream.computeStringSize(2, p.getName());
+        }
+        if (p.getManufacturer() != null) {
+            size += CodedOutputStream.computeStringSize(3, p.getManufacturer());
+        }
+        if (p.getPrice() != null) {
+            size += CodedOutputStream.computeDoubleSize(4, p.getPrice());
+        }
+        if (p.getCategory() != null) {
+            size += CodedOutputStream.computeStringSize(5, p.getCategory());
+        }
+        if (p.getStockQuantity() != null) {
+            size += CodedOutputStream.computeInt32Size(6, p.getStockQuantity());
+        }
+        if (p.getCreateDate() != null) {
+            size += CodedOutputStream.computeInt64Size(7, micros(p.getCreateDate()));
+        }
+        if (p.getUpdateDate() != null) {
+            size += CodedOutputStream.computeInt64Size(8, micros(p.getUpdateDate()));
+        }
+        if (p.getStatus() != null) {
+            size += CodedOutputStream.computeStringSize(9, p.getStatus());
+        }
+        if (p.getVersion() != null) {
+            size += CodedOutputStream.computeInt64Size(10, p.getVersion());
+        }
+        return size;
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
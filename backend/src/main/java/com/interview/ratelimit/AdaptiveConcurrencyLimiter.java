@@ -0,0 +1,250 @@
+package com.interview.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of requests in flight with a limit that adapts to observed latency (AIMD).
+ *
+ * Latency is compared against the lowest latency seen recently: a sample slower than
+ * {@code latencyTolerance} times that baseline cuts the limit by {@code backoffRatio}, at most once
+ * per smoothed round trip; otherwise, while at least half the limit is in use, the limit grows by
+ * one per limit's worth of samples. The baseline is re-learned every {@value #BASELINE_WINDOW}
+ * samples so that it follows the catalog as it grows.
+ *
+ * Only {@link Priority#CRITICAL} and {@link Priority#NORMAL} requests are sampled: they are the
+ * latency we want to protect, while sheddable scans are slow by nature and are the load the limit
+ * is there to push back on.
+ *
+ * Each priority may only fill its share of the limit. Over its share a sheddable request is
+ * rejected at once; the others wait in a bounded queue, critical ones ahead of normal ones, and
+ * are rejected when the queue is full or they have waited {@code maxWait}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_WINDOW = 1000;
+    private static final double RTT_SMOOTHING = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+    private final LongSupplier nanoClock;
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    // guarded by lock
+    private double limit;
+    private int inFlight;
+    private int queuedCritical;
+    private int queuedNormal;
+    private long baselineRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private double smoothedRtt;
+    private long lastDecrease;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${app.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${app.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${app.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${app.concurrency.queue-capacity:50}") int queueCapacity,
+                                      @Value("${app.concurrency.max-wait-ms:500}") long maxWaitMillis,
+                                      @Value("${app.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${app.concurrency.normal-share:0.9}") double normalShare,
+                                      @Value("${app.concurrency.sheddable-share:0.5}") double sheddableShare,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, queueCapacity, TimeUnit.MILLISECONDS.toNanos(maxWaitMillis),
+                latencyTolerance, backoffRatio, normalShare, sheddableShare, meterRegistry.getIfAvailable(),
+                System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueCapacity, long maxWaitNanos,
+                               double latencyTolerance, double backoffRatio, double normalShare,
+                               double sheddableShare, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min " + minLimit
+                    + ", initial " + initialLimit + ", max " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWaitNanos;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        shares.put(Priority.CRITICAL, 1.0);
+        shares.put(Priority.NORMAL, normalShare);
+        shares.put(Priority.SHEDDABLE, sheddableShare);
+        if (meterRegistry != null) {
+            bindMetrics(meterRegistry);
+        }
+    }
+
+    /**
+     * Waits, if the priority allows it, for room under the limit.
+     *
+     * @return true when the request was admitted and {@link #release} must follow, false when it is shed
+     */
+    public boolean tryAcquire(Priority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            if (admits(priority)) {
+                inFlight++;
+                return true;
+            }
+            if (priority == Priority.SHEDDABLE || queuedCritical + queuedNormal >= queueCapacity) {
+                return shed(priority);
+            }
+
+            enqueue(priority, 1);
+            try {
+                long remaining = maxWaitNanos;
+                while (!admits(priority)) {
+                    if (remaining <= 0) {
+                        return shed(priority);
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                enqueue(priority, -1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire}; {@code rttNanos} is how long the request held it.
+     */
+    public void release(Priority priority, long rttNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (priority != Priority.SHEDDABLE) {
+                sample(rttNanos);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suggested Retry-After for shed requests: one smoothed round trip, at least a second.
+     */
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            return Math.max(1, (long) Math.ceil(smoothedRtt / TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean admits(Priority priority) {
+        if (priority == Priority.NORMAL && queuedCritical > 0) {
+            return false;
+        }
+        return inFlight < Math.max(1, (int) (limit * shares.get(priority)));
+    }
+
+    private void enqueue(Priority priority, int delta) {
+        if (priority == Priority.CRITICAL) {
+            queuedCritical += delta;
+        } else {
+            queuedNormal += delta;
+        }
+    }
+
+    private boolean shed(Priority priority) {
+        Counter counter = shed.get(priority);
+        if (counter != null) {
+            counter.increment();
+        }
+        return false;
+    }
+
+    private void sample(long rtt) {
+        smoothedRtt = smoothedRtt == 0 ? rtt : smoothedRtt + RTT_SMOOTHING * (rtt - smoothedRtt);
+        windowMinRtt = Math.min(windowMinRtt, rtt);
+        baselineRtt = Math.min(baselineRtt, rtt);
+        if (++windowSamples >= BASELINE_WINDOW) {
+            baselineRtt = windowMinRtt;
+            windowMinRtt = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (rtt > baselineRtt * latencyTolerance) {
+            if (now - lastDecrease >= smoothedRtt) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecrease = now;
+            }
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.queued", this, l -> {
+            l.lock.lock();
+            try {
+                return l.queuedCritical + l.queuedNormal;
+            } finally {
+                l.lock.unlock();
+            }
+        }).description("Requests waiting for a concurrency permit").register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("concurrency.shed")
+                    .description("Requests rejected by the adaptive concurrency limit")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+}
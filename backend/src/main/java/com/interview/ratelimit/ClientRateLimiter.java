@@ -0,0 +1,136 @@
+package com.interview.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per client and {@link EndpointClass}, kept lock-free.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the bucket's "theoretical arrival time" (the
+ * GCRA form of a token bucket): a request is allowed when advancing that time by one refill
+ * interval keeps it within {@code capacity} intervals of now, and the advance is a CAS. Buckets sit
+ * in one {@link ConcurrentHashMap} per endpoint class keyed by the client id, so the hot path
+ * allocates nothing once a client has been seen.
+ *
+ * A bucket whose time is in the past is full, which is exactly the state of a new bucket, so
+ * {@link #evictIdle()} can drop it without changing any future decision.
+ */
+@Component
+@Lazy(false)
+public class ClientRateLimiter {
+
+    private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public ClientRateLimiter(@Value("${app.ratelimit.read.capacity:100}") int readCapacity,
+                             @Value("${app.ratelimit.read.refill-per-second:50}") double readRefillPerSecond,
+                             @Value("${app.ratelimit.write.capacity:20}") int writeCapacity,
+                             @Value("${app.ratelimit.write.refill-per-second:10}") double writeRefillPerSecond,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this(readCapacity, readRefillPerSecond, writeCapacity, writeRefillPerSecond,
+                meterRegistry.getIfAvailable(), System::nanoTime);
+    }
+
+    ClientRateLimiter(int readCapacity, double readRefillPerSecond, int writeCapacity, double writeRefillPerSecond,
+                      MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        budgets.put(EndpointClass.READ, new Budget(EndpointClass.READ, readCapacity, readRefillPerSecond, meterRegistry));
+        budgets.put(EndpointClass.WRITE, new Budget(EndpointClass.WRITE, writeCapacity, writeRefillPerSecond, meterRegistry));
+    }
+
+    /**
+     * Takes one token from {@code clientId}'s bucket for {@code endpointClass}.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientId, EndpointClass endpointClass) {
+        return budgets.get(endpointClass).tryAcquire(clientId, nanoClock.getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        budgets.values().forEach(budget -> budget.evictFull(now));
+    }
+
+    public int bucketCount() {
+        return budgets.values().stream().mapToInt(b -> b.buckets.size()).sum();
+    }
+
+    private static final class Budget {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Budget(EndpointClass endpointClass, int capacity, double refillPerSecond, MeterRegistry meterRegistry) {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit for " + endpointClass
+                        + ": capacity " + capacity + ", refill " + refillPerSecond + "/s");
+            }
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+            this.burstNanos = intervalNanos * capacity;
+            this.allowed = meterRegistry == null ? null : counter(meterRegistry, endpointClass, "allowed");
+            this.rejected = meterRegistry == null ? null : counter(meterRegistry, endpointClass, "rejected");
+            if (meterRegistry != null) {
+                Gauge.builder("ratelimit.buckets", buckets, Map::size)
+                        .description("Client token buckets currently held")
+                        .tag("class", endpointClass.name())
+                        .register(meterRegistry);
+            }
+        }
+
+        long tryAcquire(String clientId, long now) {
+            AtomicLong tat = buckets.get(clientId);
+            if (tat == null) {
+                tat = buckets.computeIfAbsent(clientId, id -> new AtomicLong(Long.MIN_VALUE));
+            }
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    if (rejected != null) {
+                        rejected.increment();
+                    }
+                    return wait;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    if (allowed != null) {
+                        allowed.increment();
+                    }
+                    return 0;
+                }
+            }
+        }
+
+        void evictFull(long now) {
+            // a request racing with the removal may land on the dropped bucket: one token at most
+            buckets.values().removeIf(tat -> tat.get() <= now);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, EndpointClass endpointClass, String outcome) {
+            return Counter.builder("ratelimit.requests")
+                    .description("Requests checked against the per-client rate limit, by outcome")
+                    .tag("class", endpointClass.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.ratelimit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Holds an {@link AdaptiveConcurrencyLimiter} permit for the duration of each request, answering 503
+ * with {@code Retry-After} when the request is shed. Asynchronous requests (streamed responses)
+ * keep the permit until their async dispatch completes.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final byte[] SHED_BODY =
+            "{\"error\":\"Service overloaded, retry later.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException, InterruptedException {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true; // async dispatch of a request that already holds a permit
+        }
+        Priority priority = priority(handler);
+        if (!limiter.tryAcquire(priority)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", Long.toString(limiter.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(SHED_BODY.length);
+            response.getOutputStream().write(SHED_BODY);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(priority, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release(permit.priority, System.nanoTime() - permit.startNanos);
+        }
+    }
+
+    static Priority priority(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            RequestPriority declared = method.getMethodAnnotation(RequestPriority.class);
+            if (declared == null) {
+                declared = method.getBeanType().getAnnotation(RequestPriority.class);
+            }
+            if (declared != null) {
+                return declared.value();
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    private static final class Permit {
+        private final Priority priority;
+        private final long startNanos;
+
+        Permit(Priority priority, long startNanos) {
+            this.priority = priority;
+            this.startNanos = startNanos;
+        }
+    }
+}
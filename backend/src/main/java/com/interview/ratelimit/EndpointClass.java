@@ -0,0 +1,10 @@
+package com.interview.ratelimit;
+
+/**
+ * Budget a request is charged against. Each client has one token bucket per class, so heavy
+ * writing does not use up the client's reads and vice versa.
+ */
+public enum EndpointClass {
+    READ,
+    WRITE
+}
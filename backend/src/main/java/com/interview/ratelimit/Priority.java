@@ -0,0 +1,14 @@
+package com.interview.ratelimit;
+
+/**
+ * How a request is treated when the adaptive concurrency limit is reached. Each class may only use
+ * a share of the limit, so cheaper work always has headroom that heavier work cannot take.
+ */
+public enum Priority {
+    /** Cheap point reads; may use the whole limit and wait at the front of the queue. */
+    CRITICAL,
+    /** Default; may wait in the queue. */
+    NORMAL,
+    /** Heavy scans and exports; never queued, shed with 503 as soon as their share is used. */
+    SHEDDABLE
+}
@@ -0,0 +1,17 @@
+package com.interview.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the budget a handler is charged against. Without it GET, HEAD and OPTIONS are
+ * {@link EndpointClass#READ} and every other method is {@link EndpointClass#WRITE}; POST endpoints
+ * that only read (search, count, query) are annotated READ.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitClass {
+    EndpointClass value();
+}
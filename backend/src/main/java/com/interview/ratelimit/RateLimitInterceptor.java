@@ -0,0 +1,73 @@
+package com.interview.ratelimit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges each request to its client's bucket and answers 429 with {@code Retry-After} when the
+ * bucket is empty. The client is the value of {@code clientHeader} (an API key) when present,
+ * otherwise the remote address. Rejections write a constant body and never reach the handler. The
+ * async re-dispatch of a streamed response is part of the request already charged, so it passes.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final byte[] REJECTED_BODY =
+            "{\"error\":\"Too Many Requests: Rate limit exceeded.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ClientRateLimiter rateLimiter;
+    private final String clientHeader;
+
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long waitNanos = rateLimiter.tryAcquire(clientId(request), endpointClass(request, handler));
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+        return false;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        return key == null || key.isEmpty() ? request.getRemoteAddr() : key;
+    }
+
+    static EndpointClass endpointClass(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            RateLimitClass declared = method.getMethodAnnotation(RateLimitClass.class);
+            if (declared == null) {
+                declared = method.getBeanType().getAnnotation(RateLimitClass.class);
+            }
+            if (declared != null) {
+                return declared.value();
+            }
+        }
+        HttpMethod httpMethod = HttpMethod.resolve(request.getMethod());
+        return httpMethod == HttpMethod.GET || httpMethod == HttpMethod.HEAD || httpMethod == HttpMethod.OPTIONS
+                ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.interview.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Load shedding class of a handler; handlers without it are {@link Priority#NORMAL}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestPriority {
+    Priority value();
+}
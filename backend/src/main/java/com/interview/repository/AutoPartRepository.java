@@ -2,17 +2,50 @@ package com.interview.repository;
 
 import com.interview.constants.CategoryEnum;
 import com.interview.model.AutoPartEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AutoPartRepository extends JpaRepository<AutoPartEntity, Long> {
+public interface AutoPartRepository extends JpaRepository<AutoPartEntity, Long>,
+        JpaSpecificationExecutor<AutoPartEntity>, AutoPartRepositoryCustom {
+
+    int STREAM_FETCH_SIZE = 500;
+
     Optional<List<AutoPartEntity>> findByCategory(CategoryEnum category);
     Optional<List<AutoPartEntity>> findByName(String name);
-    Page<AutoPartEntity> findByCategoryAndManufacturerContainingIgnoreCase(CategoryEnum category, String manufacturer, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Rows of (category, sum(price * stockQuantity), count) over all valued parts.
+     */
+    @Query("select p.category, sum(p.price * p.stockQuantity), count(p) from AutoPartEntity p " +
+            "where p.price is not null and p.stockQuantity is not null group by p.category")
+    List<Object[]> sumInventoryValueByCategory();
+
+    /**
+     * Forward-only cursor over the whole table; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from AutoPartEntity p")
+    Stream<AutoPartEntity> streamAll();
+
+    /**
+     * Physically removes up to {@code limit} soft-deleted rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM AUTO_PART WHERE STATUS = 'DELETED' LIMIT :limit", nativeQuery = true)
+    int purgeDeleted(@Param("limit") int limit);
+}
@@ -0,0 +1,65 @@
+package com.interview.repository;
+
+import com.interview.event.AutoPartSnapshot;
+import com.interview.model.AutoPartEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface AutoPartRepositoryCustom {
+
+    /**
+     * Computes {@code function} (sum, avg, min, max, count) over every field in {@code fields}
+     * for all rows matching {@code spec}, as one SQL aggregate query.
+     *
+     * @return value per field, in the order of {@code fields}
+     */
+    Map<String, Double> aggregate(Specification<AutoPartEntity> spec, List<String> fields, String function);
+
+    /**
+     * First {@code limit} rows matching {@code spec} in {@code sort} order, without the count query
+     * that a {@link org.springframework.data.domain.Page} would need.
+     */
+    List<AutoPartEntity> findSlice(Specification<AutoPartEntity> spec, Sort sort, int limit);
+
+    /**
+     * Adds {@code delta} to the stock of part {@code id} with one conditional UPDATE that only
+     * matches while the stock stays non-negative, so concurrent callers can never oversell.
+     *
+     * @return the row as written, or empty when the part does not exist or has too little stock
+     */
+    Optional<AutoPartSnapshot> adjustStock(long id, int delta);
+
+    /**
+     * Writes only the given columns of part {@code id} (keyed by attribute name: name, manufacturer,
+     * price, category, stockQuantity), bumps its version and stamps {@code updateTime}, without
+     * loading it first. When {@code expectedVersion} is set the row is only written at that version.
+     *
+     * @return the row as it was before the write, or empty when no row matched
+     */
+    Optional<AutoPartEntity> patch(long id, Long expectedVersion, Map<String, Object> changes, LocalDateTime updateTime);
+
+    /**
+     * Count, version sum and latest create/update time of the rows matching {@code spec}, as one
+     * aggregate query.
+     */
+    ChangeStamp changeStamp(Specification<AutoPartEntity> spec);
+
+    /**
+     * Deletes the given parts in one statement, or with {@code soft} marks them DELETED (bumping the
+     * version and stamping {@code updateTime}) so they disappear from reads until purged.
+     *
+     * @return the rows removed, as they were; ids that do not exist or are already deleted are skipped
+     */
+    List<AutoPartSnapshot> remove(Collection<Long> ids, boolean soft, LocalDateTime updateTime);
+
+    /**
+     * Ids, ascending, of the first {@code limit} rows matching {@code spec}.
+     */
+    List<Long> findIds(Specification<AutoPartEntity> spec, int limit);
+}
@@ -0,0 +1,260 @@
+package com.interview.repository;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.constants.StatusEnum;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.model.AutoPartEntity;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+public class AutoPartRepositoryImpl implements AutoPartRepositoryCustom {
+
+    // H2 data change delta table: the UPDATE and the read of the rows it wrote are one statement
+    private static final String SNAPSHOT_COLUMNS = "ID, NAME, MANUFACTURER, PRICE, CATEGORY, STOCK_QUANTITY";
+    private static final String ADJUST_STOCK_SQL =
+            "SELECT " + SNAPSHOT_COLUMNS + " FROM FINAL TABLE ("
+                    + "UPDATE AUTO_PART SET STOCK_QUANTITY = STOCK_QUANTITY + :delta, "
+                    + "VERSION = VERSION + 1, UPDATE_TIME = LOCALTIMESTAMP "
+                    + "WHERE ID = :id AND STOCK_QUANTITY >= :required AND " + AutoPartEntity.LIVE_ROWS + ")";
+    private static final String DELETE_SQL =
+            "SELECT " + SNAPSHOT_COLUMNS + " FROM OLD TABLE ("
+                    + "DELETE FROM AUTO_PART WHERE ID IN (:ids) AND " + AutoPartEntity.LIVE_ROWS + ")";
+    private static final String SOFT_DELETE_SQL =
+            "SELECT " + SNAPSHOT_COLUMNS + " FROM OLD TABLE ("
+                    + "UPDATE AUTO_PART SET STATUS = 'DELETED', VERSION = VERSION + 1, UPDATE_TIME = :updateTime "
+                    + "WHERE ID IN (:ids) AND " + AutoPartEntity.LIVE_ROWS + ")";
+
+    private static final Map<String, String> PATCHABLE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        PATCHABLE_COLUMNS.put("name", "NAME");
+        PATCHABLE_COLUMNS.put("manufacturer", "MANUFACTURER");
+        PATCHABLE_COLUMNS.put("price", "PRICE");
+        PATCHABLE_COLUMNS.put("category", "CATEGORY");
+        PATCHABLE_COLUMNS.put("stockQuantity", "STOCK_QUANTITY");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Double> aggregate(Specification<AutoPartEntity> spec, List<String> fields, String function) {
+        String fn = function == null ? "" : function.toLowerCase(Locale.ROOT);
+        for (String field : fields) {
+            if (!AutoPartSpecifications.AGGREGATABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unsupported aggregation field " + field);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AutoPartEntity> root = query.from(AutoPartEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(aggregateExpression(cb, root.<Number>get(field), fn).alias(field));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            Number value = (Number) tuple.get(field);
+            // empty result sets aggregate to 0 rather than SQL NULL
+            result.put(field, value == null ? 0.0 : value.doubleValue());
+        }
+        return result;
+    }
+
+    @Override
+    public List<AutoPartEntity> findSlice(Specification<AutoPartEntity> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AutoPartEntity> query = cb.createQuery(AutoPartEntity.class);
+        Root<AutoPartEntity> root = query.from(AutoPartEntity.class);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public ChangeStamp changeStamp(Specification<AutoPartEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AutoPartEntity> root = query.from(AutoPartEntity.class);
+        Expression<LocalDateTime> touched = cb.coalesce(root.<LocalDateTime>get("updateDate"), root.<LocalDateTime>get("createDate"));
+        query.multiselect(
+                cb.count(root).alias("count"),
+                cb.sum(root.<Long>get("version")).alias("versions"),
+                cb.greatest(touched).alias("lastModified"));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+        Number versions = (Number) tuple.get("versions");
+        return new ChangeStamp(((Number) tuple.get("count")).longValue(),
+                versions == null ? 0 : versions.longValue(),
+                (LocalDateTime) tuple.get("lastModified"));
+    }
+
+    @Override
+    public Optional<AutoPartSnapshot> adjustStock(long id, int delta) {
+        List<?> rows = entityManager.createNativeQuery(ADJUST_STOCK_SQL)
+                .unwrap(NativeQuery.class)
+                // flushes pending AUTO_PART writes first, and only those
+                .addSynchronizedEntityClass(AutoPartEntity.class)
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .setParameter("required", -(long) delta)
+                .getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(snapshot((Object[]) rows.get(0)));
+    }
+
+    @Override
+    public List<AutoPartSnapshot> remove(Collection<Long> ids, boolean soft, LocalDateTime updateTime) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        NativeQuery<?> query = entityManager.createNativeQuery(soft ? SOFT_DELETE_SQL : DELETE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(AutoPartEntity.class)
+                .setParameterList("ids", ids);
+        if (soft) {
+            query.setParameter("updateTime", updateTime);
+        }
+        List<?> rows = query.getResultList();
+        List<AutoPartSnapshot> removed = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            removed.add(snapshot((Object[]) row));
+        }
+        return removed;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<AutoPartEntity> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<AutoPartEntity> root = query.from(AutoPartEntity.class);
+        query.select(root.get("id"));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Row of {@link #SNAPSHOT_COLUMNS}.
+     */
+    private static AutoPartSnapshot snapshot(Object[] row) {
+        return new AutoPartSnapshot(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                row[3] == null ? null : ((Number) row[3]).doubleValue(),
+                row[4] == null ? null : CategoryEnum.valueOf((String) row[4]),
+                ((Number) row[5]).intValue());
+    }
+
+    @Override
+    public Optional<AutoPartEntity> patch(long id, Long expectedVersion, Map<String, Object> changes, LocalDateTime updateTime) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        StringBuilder sql = new StringBuilder("SELECT ID, NAME, MANUFACTURER, PRICE, CATEGORY, STOCK_QUANTITY, ")
+                .append("CREATE_TIME, STATUS, VERSION FROM OLD TABLE (UPDATE AUTO_PART SET ");
+        for (String field : changes.keySet()) {
+            String column = PATCHABLE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Unsupported update field " + field);
+            }
+            sql.append(column).append(" = :").append(field).append(", ");
+        }
+        sql.append("VERSION = VERSION + 1, UPDATE_TIME = :updateTime WHERE ID = :id AND ").append(AutoPartEntity.LIVE_ROWS);
+        if (expectedVersion != null) {
+            sql.append(" AND VERSION = :expectedVersion");
+        }
+        sql.append(')');
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(AutoPartEntity.class)
+                .setParameter("updateTime", updateTime)
+                .setParameter("id", id);
+        changes.forEach((field, value) ->
+                query.setParameter(field, value instanceof Enum ? ((Enum<?>) value).name() : value));
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        AutoPartEntity before = AutoPartEntity.builder()
+                .id(((Number) row[0]).longValue())
+                .name((String) row[1])
+                .manufacturer((String) row[2])
+                .price(row[3] == null ? null : ((Number) row[3]).doubleValue())
+                .category(row[4] == null ? null : CategoryEnum.valueOf((String) row[4]))
+                .stockQuantity(((Number) row[5]).intValue())
+                .version(((Number) row[8]).longValue())
+                .build();
+        before.setCreateDate(row[6] == null ? null : ((Timestamp) row[6]).toLocalDateTime());
+        before.setStatus(row[7] == null ? null : StatusEnum.valueOf((String) row[7]));
+        return Optional.of(before);
+    }
+
+    private static Expression<? extends Number> aggregateExpression(CriteriaBuilder cb, Expression<Number> path, String fn) {
+        switch (fn) {
+            case "sum": return cb.sum(path);
+            case "avg": return cb.avg(path);
+            case "min": return cb.min(path);
+            case "max": return cb.max(path);
+            case "count": return cb.count(path);
+            default: throw new IllegalArgumentException("Unsupported aggregation function " + fn);
+        }
+    }
+}
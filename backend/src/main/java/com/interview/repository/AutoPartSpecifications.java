@@ -0,0 +1,154 @@
+package com.interview.repository;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.exception.BadRequestException;
+import com.interview.model.AutoPartEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Translates {@link AutoPartQueryRequest.Filter} into JPA Criteria predicates so that
+ * filtering, paging and aggregation all happen in a single SQL statement.
+ */
+public final class AutoPartSpecifications {
+
+    public static final Set<String> SORTABLE_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "id", "name", "manufacturer", "price", "category", "stockQuantity", "createDate", "updateDate")));
+
+    public static final Set<String> AGGREGATABLE_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "price", "stockQuantity")));
+
+    public static final Set<String> AGGREGATE_FUNCTIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "sum", "avg", "min", "max", "count")));
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private AutoPartSpecifications() {
+    }
+
+    public static Specification<AutoPartEntity> fromFilter(AutoPartQueryRequest.Filter f) {
+        Specification<AutoPartEntity> spec = Specification.where(null);
+        if (f == null) {
+            return spec;
+        }
+        CategoryEnum category = parseCategory(f.getCategory());
+        if (category != null) {
+            spec = spec.and(categoryEquals(category));
+        }
+        if (f.getManufacturer() != null && !f.getManufacturer().isEmpty()) {
+            spec = spec.and(manufacturerContains(f.getManufacturer()));
+        }
+        if (f.getMinPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), f.getMinPrice()));
+        }
+        if (f.getMaxPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), f.getMaxPrice()));
+        }
+        if (f.getMinStock() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("stockQuantity"), f.getMinStock()));
+        }
+        if (f.getMaxStock() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("stockQuantity"), f.getMaxStock()));
+        }
+        return spec;
+    }
+
+    public static Specification<AutoPartEntity> categoryEquals(CategoryEnum category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<AutoPartEntity> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Exact match on each non-null argument, as a query-by-example probe matches non-string fields.
+     */
+    public static Specification<AutoPartEntity> valuesEqual(Double price, CategoryEnum category, Integer stockQuantity) {
+        Specification<AutoPartEntity> spec = Specification.where(null);
+        if (price != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("price"), price));
+        }
+        if (category != null) {
+            spec = spec.and(categoryEquals(category));
+        }
+        if (stockQuantity != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("stockQuantity"), stockQuantity));
+        }
+        return spec;
+    }
+
+    /**
+     * Case-insensitive CONTAINING match, escaped the same way Spring Data escapes derived
+     * {@code ContainingIgnoreCase} queries so that '%' and '_' in the input are literals.
+     */
+    public static Specification<AutoPartEntity> manufacturerContains(String manufacturer) {
+        String pattern = "%" + escapeLike(manufacturer.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("manufacturer")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Blank or missing category means "any category".
+     */
+    public static CategoryEnum parseCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return CategoryEnum.valueOf(category.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown category " + category);
+        }
+    }
+
+    public static Sort.Direction requireDirection(String direction) {
+        try {
+            return Sort.Direction.fromString(String.valueOf(direction));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported sort direction " + direction);
+        }
+    }
+
+    public static String requireSortable(String field) {
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new BadRequestException("Unsupported sort field " + field);
+        }
+        return field;
+    }
+
+    /**
+     * Checks a requested aggregation before it reaches SQL or the column store, which treat an
+     * unknown field or function as a bug.
+     */
+    public static void requireAggregation(List<String> fields, String function) {
+        for (String field : fields) {
+            if (!AGGREGATABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unsupported aggregation field " + field);
+            }
+        }
+        if (function == null || !AGGREGATE_FUNCTIONS.contains(function.toLowerCase(Locale.ROOT))) {
+            throw new BadRequestException("Unsupported aggregation function " + function);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                sb.append(LIKE_ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
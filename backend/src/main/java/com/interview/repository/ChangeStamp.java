@@ -0,0 +1,33 @@
+package com.interview.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cheap fingerprint of a set of parts: how many there are, the sum of their versions and the latest
+ * create/update time. Any insert, delete or write to a row of the set changes at least one of them,
+ * so it serves as an HTTP validator without reading the rows themselves.
+ */
+public final class ChangeStamp {
+
+    private final long count;
+    private final long versionSum;
+    private final LocalDateTime lastModified;
+
+    public ChangeStamp(long count, long versionSum, LocalDateTime lastModified) {
+        this.count = count;
+        this.versionSum = versionSum;
+        this.lastModified = lastModified;
+    }
+
+    public long getCount() { return count; }
+    public long getVersionSum() { return versionSum; }
+    public LocalDateTime getLastModified() { return lastModified; }
+
+    /**
+     * Last-Modified as epoch millis, or -1 when no row carries a timestamp (as for seeded data).
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,130 @@
+package com.interview.repository;
+
+import com.interview.exception.BadRequestException;
+import com.interview.model.AutoPartEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated listing: the sort field and direction plus the sort key and
+ * id of the last row returned. The next page seeks past that row with
+ * {@code WHERE (sortKey, id) > (?, ?)} instead of skipping an OFFSET.
+ *
+ * Only NOT NULL columns can be used, since NULL sort keys have no position to seek past.
+ */
+public final class KeysetCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final long lastId;
+    private final Comparable<?> lastValue;
+
+    private KeysetCursor(String sortBy, Sort.Direction direction, long lastId, Comparable<?> lastValue) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public static KeysetCursor after(AutoPartEntity last, String sortBy, Sort.Direction direction) {
+        return new KeysetCursor(sortBy, direction, last.getId(), sortKey(last, sortBy));
+    }
+
+    public static String requireKeysetSortable(String sortBy) {
+        switch (sortBy == null ? "" : sortBy) {
+            case "id":
+            case "name":
+            case "manufacturer":
+            case "price":
+            case "stockQuantity":
+                return sortBy;
+            default:
+                throw new BadRequestException("Unsupported cursor sort field " + sortBy);
+        }
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the value goes last so that string keys may contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortBy = requireKeysetSortable(parts[1]);
+            Sort.Direction direction = Sort.Direction.fromString(parts[2]);
+            long lastId = Long.parseLong(parts[3]);
+            return new KeysetCursor(sortBy, direction, lastId, parseValue(sortBy, parts[4]));
+        } catch (IllegalArgumentException | BadRequestException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortBy + SEPARATOR + direction.name() + SEPARATOR + lastId
+                + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Sort on the cursor field with id as the tie breaker, so the order is total.
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        return "id".equals(sortBy) ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+    }
+
+    /**
+     * {@code (sortKey, id) > (lastValue, lastId)} for ascending order, {@code <} for descending,
+     * expanded to {@code sortKey > v OR (sortKey = v AND id > lastId)} for the Criteria API.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Specification<AutoPartEntity> seek() {
+        boolean asc = direction.isAscending();
+        return (root, query, cb) -> {
+            if ("id".equals(sortBy)) {
+                return asc ? cb.greaterThan(root.get("id"), lastId) : cb.lessThan(root.get("id"), lastId);
+            }
+            Path key = root.get(sortBy);
+            Comparable value = lastValue;
+            return cb.or(
+                    asc ? cb.greaterThan(key, value) : cb.lessThan(key, value),
+                    cb.and(cb.equal(key, value),
+                            asc ? cb.greaterThan(root.get("id"), lastId) : cb.lessThan(root.get("id"), lastId)));
+        };
+    }
+
+    private static Comparable<?> sortKey(AutoPartEntity e, String sortBy) {
+        switch (sortBy) {
+            case "id": return e.getId();
+            case "name": return e.getName();
+            case "manufacturer": return e.getManufacturer();
+            case "price": return e.getPrice();
+            case "stockQuantity": return e.getStockQuantity();
+            default: throw new IllegalArgumentException("Unsupported cursor sort field " + sortBy);
+        }
+    }
+
+    private static Comparable<?> parseValue(String sortBy, String value) {
+        switch (sortBy) {
+            case "id": return Long.valueOf(value);
+            case "price": return Double.valueOf(value);
+            case "stockQuantity": return Integer.valueOf(value);
+            default: return value;
+        }
+    }
+}
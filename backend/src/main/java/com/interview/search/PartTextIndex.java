@@ -0,0 +1,397 @@
+package com.interview.search;
+
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.model.AutoPartEntity;
+import com.interview.repository.AutoPartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index answering case-insensitive "contains" on part name and manufacturer,
+ * the matching that {@code findByExample} / {@code countByExample} otherwise do with
+ * {@code lower(x) like '%v%'} over the whole table.
+ *
+ * Each field keeps a dictionary of its distinct lower-cased values, the rows holding each value,
+ * and a trigram index over the dictionary. A lookup intersects the postings of the needle's
+ * trigrams, confirms each candidate value with {@link String#contains} (so the result is exactly
+ * the substring match, wildcards included as literals) and unions the rows of the values that
+ * matched. Needles shorter than three characters scan the dictionary instead.
+ *
+ * Built from the database at startup and kept current from committed {@link AutoPartChangedEvent}s.
+ * Searches share a read lock, so they run concurrently and only wait while a change is applied.
+ * Disable with {@code app.search.index.enabled=false}.
+ */
+@Component
+public class PartTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PartTextIndex.class);
+
+    private static final int GRAM = 3;
+
+    private final boolean enabled;
+    private final AutoPartRepository autoPartRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Docs docs = new Docs();                        // guarded by lock
+    private List<AutoPartChangedEvent> pendingDuringBuild; // guarded by lock, non-null while rebuilding
+    private volatile boolean ready;
+
+    public PartTextIndex(@Value("${app.search.index.enabled:true}") boolean enabled,
+                         AutoPartRepository autoPartRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.autoPartRepository = autoPartRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reloads every row from the database. Writes committed while the reload runs are queued and
+     * replayed on top of the fresh index before it replaces the current one.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Docs fresh = new Docs();
+        long start = System.nanoTime();
+        try {
+            readOnlyTx.execute(status -> {
+                try (Stream<AutoPartEntity> parts = autoPartRepository.streamAll()) {
+                    parts.forEach(e -> {
+                        fresh.upsert(e.getId(), e.getName(), e.getManufacturer());
+                        entityManager.detach(e);
+                    });
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringBuild.forEach(fresh::apply);
+            pendingDuringBuild = null;
+            docs = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Part text index built with {} rows in {} ms", fresh.liveDocs,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AutoPartChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringBuild != null) {
+                pendingDuringBuild.add(event);
+            }
+            docs.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids, ascending, of the parts whose name contains {@code name} and whose manufacturer contains
+     * {@code manufacturer}, ignoring case; a null argument places no condition on that field.
+     */
+    public long[] search(String name, String manufacturer) {
+        lock.readLock().lock();
+        try {
+            return search(docs, name, manufacturer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long[] search(Docs d, String name, String manufacturer) {
+        BitSet hits = null;
+        if (name != null) {
+            hits = d.names.matchingDocs(name);
+        }
+        if (manufacturer != null) {
+            BitSet byManufacturer = d.manufacturers.matchingDocs(manufacturer);
+            if (hits == null) {
+                hits = byManufacturer;
+            } else {
+                hits.and(byManufacturer);
+            }
+        }
+        if (hits == null) {
+            hits = new BitSet(d.docCount);
+            hits.set(0, d.docCount);
+        }
+        hits.and(d.live);
+
+        long[] ids = new long[hits.cardinality()];
+        int n = 0;
+        for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+            ids[n++] = d.ids[doc];
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Rows of the index. A row that changes is tombstoned and re-added under a new document number,
+     * so postings only ever grow at the end; everything is rebuilt once tombstones outnumber live rows.
+     */
+    static final class Docs {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        long[] ids = new long[INITIAL_CAPACITY];
+        final BitSet live = new BitSet();
+        int docCount;
+        int liveDocs;
+
+        final Map<Long, Integer> docById = new HashMap<>();
+        final Field names = new Field();
+        final Field manufacturers = new Field();
+
+        void apply(AutoPartChangedEvent event) {
+            for (AutoPartChangedEvent.Change change : event.getChanges()) {
+                AutoPartSnapshot after = change.getAfter();
+                if (after == null) {
+                    remove(change.getId());
+                } else {
+                    upsert(after.getId(), after.getName(), after.getManufacturer());
+                }
+            }
+        }
+
+        void upsert(Long id, String name, String manufacturer) {
+            if (id == null) {
+                return;
+            }
+            remove(id);
+            if (docCount == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+            }
+            int doc = docCount++;
+            ids[doc] = id;
+            names.add(doc, name);
+            manufacturers.add(doc, manufacturer);
+            live.set(doc);
+            liveDocs++;
+            docById.put(id, doc);
+        }
+
+        void remove(Long id) {
+            Integer doc = id == null ? null : docById.remove(id);
+            if (doc == null) {
+                return;
+            }
+            live.clear(doc);
+            liveDocs--;
+            if (docCount > INITIAL_CAPACITY && liveDocs < docCount / 2) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            Docs fresh = new Docs();
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                fresh.upsert(ids[doc], names.valueOf(doc), manufacturers.valueOf(doc));
+            }
+            ids = fresh.ids;
+            live.clear();
+            live.or(fresh.live);
+            docCount = fresh.docCount;
+            liveDocs = fresh.liveDocs;
+            docById.clear();
+            docById.putAll(fresh.docById);
+            names.replaceWith(fresh.names);
+            manufacturers.replaceWith(fresh.manufacturers);
+        }
+    }
+
+    /**
+     * One indexed column: distinct lower-cased values, the documents of each value and trigram
+     * postings over value codes. Null values are not indexed, as {@code lower(null) like ...} never
+     * matches.
+     */
+    static final class Field {
+        List<String> values = new ArrayList<>();
+        List<IntList> docsByValue = new ArrayList<>();
+        Map<String, Integer> codes = new HashMap<>();
+        Map<Long, IntList> grams = new HashMap<>();
+        int[] valueByDoc = new int[1024];
+
+        void add(int doc, String value) {
+            if (doc == valueByDoc.length) {
+                valueByDoc = Arrays.copyOf(valueByDoc, valueByDoc.length + (valueByDoc.length >> 1));
+            }
+            if (value == null) {
+                valueByDoc[doc] = -1;
+                return;
+            }
+            String lower = value.toLowerCase(Locale.ROOT);
+            Integer code = codes.get(lower);
+            if (code == null) {
+                code = values.size();
+                values.add(lower);
+                docsByValue.add(new IntList());
+                codes.put(lower, code);
+                Set<Long> seen = new HashSet<>();
+                for (int i = 0; i + GRAM <= lower.length(); i++) {
+                    long gram = gram(lower, i);
+                    if (seen.add(gram)) {
+                        grams.computeIfAbsent(gram, g -> new IntList()).add(code);
+                    }
+                }
+            }
+            docsByValue.get(code).add(doc);
+            valueByDoc[doc] = code;
+        }
+
+        /**
+         * Original-case values are not kept; the lower-cased one is all a rebuild needs.
+         */
+        String valueOf(int doc) {
+            int code = valueByDoc[doc];
+            return code < 0 ? null : values.get(code);
+        }
+
+        BitSet matchingDocs(String fragment) {
+            String needle = fragment.toLowerCase(Locale.ROOT);
+            BitSet docs = new BitSet();
+            for (int code : candidateValues(needle)) {
+                if (values.get(code).contains(needle)) {
+                    IntList list = docsByValue.get(code);
+                    for (int i = 0; i < list.size; i++) {
+                        docs.set(list.items[i]);
+                    }
+                }
+            }
+            return docs;
+        }
+
+        /**
+         * Value codes that contain every trigram of {@code needle}, or every code when the needle
+         * is too short to have one.
+         */
+        private int[] candidateValues(String needle) {
+            if (needle.length() < GRAM) {
+                int[] all = new int[values.size()];
+                for (int i = 0; i < all.length; i++) {
+                    all[i] = i;
+                }
+                return all;
+            }
+            List<IntList> postings = new ArrayList<>();
+            for (int i = 0; i + GRAM <= needle.length(); i++) {
+                IntList list = grams.get(gram(needle, i));
+                if (list == null) {
+                    return new int[0];
+                }
+                postings.add(list);
+            }
+            postings.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            IntList smallest = postings.get(0);
+            int[] result = new int[smallest.size];
+            int n = 0;
+            outer:
+            for (int i = 0; i < smallest.size; i++) {
+                int code = smallest.items[i];
+                for (int p = 1; p < postings.size(); p++) {
+                    IntList other = postings.get(p);
+                    if (Arrays.binarySearch(other.items, 0, other.size, code) < 0) {
+                        continue outer;
+                    }
+                }
+                result[n++] = code;
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        void replaceWith(Field other) {
+            values = other.values;
+            docsByValue = other.docsByValue;
+            codes = other.codes;
+            grams = other.grams;
+            valueByDoc = other.valueByDoc;
+        }
+
+        private static long gram(String s, int i) {
+            return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+    }
+
+    /**
+     * Growable int array; postings are appended in increasing order, so they stay sorted.
+     */
+    static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size << 1);
+            }
+            items[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.interview.service;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.csv.CsvReader;
+import com.interview.csv.CsvWriter;
+import com.interview.dto.AutoPartImportResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.exception.BadRequestException;
+import com.interview.model.AutoPartEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * CSV import and export of the catalog, in both directions one record at a time so memory use does
+ * not depend on the file size.
+ *
+ * Import expects a header naming the columns (name, manufacturer, price, category, stockQuantity in
+ * any order; category may be omitted, other columns such as id are ignored and every row gets a new
+ * id). Each row is checked against the {@link AutoPartEntity} constraints; rejected rows are reported
+ * by line and skipped. Valid rows go to the database as JDBC batches of {@code app.import.batch-size},
+ * each committed on its own together with the change event that keeps the in-memory views current,
+ * so an import that fails halfway keeps the batches written before the failure.
+ */
+@Service
+public class AutoPartCsvService {
+
+    public static final String[] EXPORT_COLUMNS = {"id", "name", "manufacturer", "price", "category", "stockQuantity"};
+
+    private static final String INSERT_SQL = "INSERT INTO AUTO_PART "
+            + "(ID, NAME, MANUFACTURER, PRICE, CATEGORY, STOCK_QUANTITY, CREATE_TIME, STATUS, VERSION) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', 0)";
+    // one sequence value per id block, all in one round trip
+    private static final String NEXT_ID_BLOCKS_SQL = "SELECT NEXT VALUE FOR AUTO_PART_SEQ FROM SYSTEM_RANGE(1, ?)";
+    // plain decimal prices only: Double.valueOf would also take exponents, hex, Infinity and NaN
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)");
+
+    private final AutoPartService autoPartService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public AutoPartCsvService(AutoPartService autoPartService, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                              Validator validator,
+                              @Value("${app.import.batch-size:5000}") int batchSize,
+                              @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.autoPartService = autoPartService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public AutoPartImportResponse importCsv(InputStream in) throws IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new BadRequestException("CSV input is empty");
+        }
+        Columns columns = new Columns(header);
+
+        long imported = 0;
+        long failed = 0;
+        List<AutoPartImportResponse.RowError> errors = new ArrayList<>();
+        List<AutoPartEntity> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue;
+            }
+            Map<String, String> rowErrors = new HashMap<>();
+            AutoPartEntity part = columns.toEntity(record, rowErrors);
+            if (rowErrors.isEmpty()) {
+                for (ConstraintViolation<AutoPartEntity> v : validator.validate(part)) {
+                    rowErrors.put(v.getPropertyPath().toString(), v.getMessage());
+                }
+            }
+            if (!rowErrors.isEmpty()) {
+                failed++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new AutoPartImportResponse.RowError(reader.getRecordLine(), rowErrors));
+                }
+                continue;
+            }
+            batch.add(part);
+            if (batch.size() == batchSize) {
+                imported += writeBatch(batch);
+                batch.clear();
+            }
+        }
+        imported += writeBatch(batch);
+
+        return AutoPartImportResponse.builder()
+                .imported(imported)
+                .failed(failed)
+                .errors(errors)
+                .errorsTruncated(failed > errors.size())
+                .build();
+    }
+
+    private int writeBatch(List<AutoPartEntity> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        tx.execute(status -> {
+            long[] ids = allocateIds(batch.size());
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            List<AutoPartChangedEvent.Change> changes = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                AutoPartEntity part = batch.get(i);
+                part.setId(ids[i]);
+                rows.add(new Object[]{part.getId(), part.getName(), part.getManufacturer(), part.getPrice(),
+                        part.getCategory() == null ? null : part.getCategory().name(), part.getStockQuantity(), now});
+                changes.add(new AutoPartChangedEvent.Change(null, AutoPartSnapshot.of(part)));
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            eventPublisher.publishEvent(new AutoPartChangedEvent(changes));
+            return null;
+        });
+        return batch.size();
+    }
+
+    /**
+     * Reserves {@code count} ids from the same pooled-lo sequence Hibernate uses, so imported rows
+     * never collide with ids assigned by the application.
+     */
+    private long[] allocateIds(int count) {
+        int blocks = (count + AutoPartEntity.ID_BLOCK_SIZE - 1) / AutoPartEntity.ID_BLOCK_SIZE;
+        List<Long> starts = jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocks);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = starts.get(i / AutoPartEntity.ID_BLOCK_SIZE) + i % AutoPartEntity.ID_BLOCK_SIZE;
+        }
+        return ids;
+    }
+
+    /**
+     * Writes the whole catalog as CSV with a header of {@link #EXPORT_COLUMNS}, reading it through
+     * the same database cursor as the NDJSON stream.
+     */
+    public void exportCsv(Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRecord((Object[]) EXPORT_COLUMNS);
+        try {
+            autoPartService.streamAll(part -> {
+                try {
+                    csv.writeRecord(part.getId(), part.getName(), part.getManufacturer(), part.getPrice(),
+                            part.getCategory(), part.getStockQuantity());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+    }
+
+    /**
+     * Positions of the known columns in the header.
+     */
+    private static final class Columns {
+        private int name = -1;
+        private int manufacturer = -1;
+        private int price = -1;
+        private int category = -1;
+        private int stockQuantity = -1;
+
+        Columns(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                // a UTF-8 byte order mark would otherwise stick to the first column name
+                String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                switch (column) {
+                    case "name": name = i; break;
+                    case "manufacturer": manufacturer = i; break;
+                    case "price": price = i; break;
+                    case "category": category = i; break;
+                    case "stockquantity":
+                    case "stock_quantity": stockQuantity = i; break;
+                    default: // ignored, e.g. the id column of an export
+                }
+            }
+            if (name < 0 || manufacturer < 0 || price < 0 || stockQuantity < 0) {
+                throw new BadRequestException(
+                        "CSV header must name the columns name, manufacturer, price and stockQuantity");
+            }
+        }
+
+        AutoPartEntity toEntity(List<String> record, Map<String, String> errors) {
+            AutoPartEntity part = new AutoPartEntity();
+            part.setName(text(record, name));
+            part.setManufacturer(text(record, manufacturer));
+            String priceText = text(record, price);
+            if (priceText != null) {
+                if (!DECIMAL.matcher(priceText).matches()) {
+                    errors.put("price", "Not a decimal number: " + priceText);
+                } else {
+                    double value = Double.parseDouble(priceText);
+                    if (Double.isFinite(value)) {
+                        part.setPrice(value);
+                    } else {
+                        errors.put("price", "Out of range: " + priceText);
+                    }
+                }
+            }
+            String stockText = text(record, stockQuantity);
+            if (stockText != null) {
+                try {
+                    part.setStockQuantity(Integer.valueOf(stockText));
+                } catch (NumberFormatException ex) {
+                    errors.put("stockQuantity", "Not a whole number: " + stockText);
+                }
+            }
+            String categoryText = text(record, category);
+            if (categoryText != null) {
+                try {
+                    part.setCategory(CategoryEnum.valueOf(categoryText.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException ex) {
+                    errors.put("category", "Unknown category " + categoryText);
+                }
+            }
+            return part;
+        }
+
+        /**
+         * Trimmed field at {@code index}, null when the column is absent, the record short or the field empty.
+         */
+        private static String text(List<String> record, int index) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
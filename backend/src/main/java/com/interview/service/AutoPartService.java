@@ -1,37 +1,107 @@
 package com.interview.service;
 
 
+import com.interview.analytics.ColumnAggregates;
+import com.interview.analytics.InventoryColumnStore;
+import com.interview.cache.AutoPartReadCache;
+import com.interview.cache.PartJsonFragmentCache;
+import com.interview.cache.PartRows;
 import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartBulkDeleteResponse;
+import com.interview.dto.AutoPartBulkItemResult;
+import com.interview.dto.AutoPartBulkResponse;
+import com.interview.dto.AutoPartPatchRequest;
 import com.interview.dto.AutoPartQueryRequest;
 import com.interview.dto.AutoPartRequest;
 import com.interview.dto.AutoPartResponse;
 import com.interview.dto.AutoPartTotalValuePerCategoryResponse;
+import com.interview.dto.AutoPartValuationCheckResponse;
+import com.interview.dto.CursorPagedResponse;
+import com.interview.dto.StockAdjustmentRequest;
+import com.interview.dto.StockLevelResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.exception.BadRequestException;
+import com.interview.exception.InsufficientStockException;
 import com.interview.exception.ResourceNotFoundException;
+import com.interview.exception.VersionConflictException;
 import com.interview.mapper.AutoPartMapper;
 import com.interview.model.AutoPartEntity;
 import com.interview.repository.AutoPartRepository;
+import com.interview.repository.AutoPartSpecifications;
+import com.interview.repository.ChangeStamp;
+import com.interview.repository.KeysetCursor;
+import com.interview.search.PartTextIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class AutoPartService {
 
-    private final AutoPartRepository autoPartRepository;
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    // flush + clear granularity for bulk writes; a multiple of hibernate.jdbc.batch_size
+    private static final int BULK_CHUNK_SIZE = 500;
+    // ids per IN list when fetching rows resolved by the text index
+    private static final int ID_FETCH_CHUNK_SIZE = 1000;
+    // ids per DELETE (or soft-delete UPDATE) statement when deleting by filter
+    private static final int DELETE_CHUNK_SIZE = 1000;
 
-    public AutoPartService(AutoPartRepository repository) {
+    private final AutoPartRepository autoPartRepository;
+    private final InventoryValuationTracker valuationTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final AutoPartReadCache readCache;
+    private final InventoryColumnStore columnStore;
+    private final PartTextIndex textIndex;
+    private final PartJsonFragmentCache fragmentCache;
+
+    @Value("${app.bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    @Value("${app.delete.soft:false}")
+    private boolean softDelete;
+
+    public AutoPartService(AutoPartRepository repository, InventoryValuationTracker valuationTracker,
+                           ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+                           Validator validator, AutoPartReadCache readCache, InventoryColumnStore columnStore,
+                           PartTextIndex textIndex, PartJsonFragmentCache fragmentCache) {
         this.autoPartRepository = repository;
+        this.valuationTracker = valuationTracker;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.readCache = readCache;
+        this.columnStore = columnStore;
+        this.textIndex = textIndex;
+        this.fragmentCache = fragmentCache;
     }
 
     public AutoPartResponse create(AutoPartRequest dto) {
-        CategoryEnum category = dto.getCategory() == null ? null : CategoryEnum.valueOf(dto.getCategory());
+        CategoryEnum category = categoryOf(dto.getCategory());
         AutoPartEntity part = AutoPartEntity.builder()
                 .name(dto.getName())
                 .manufacturer(dto.getManufacturer())
@@ -45,117 +115,272 @@ public class AutoPartService {
         part.setUpdateDate(null);
 
         AutoPartEntity saved = autoPartRepository.save(part);
+        eventPublisher.publishEvent(AutoPartChangedEvent.created(AutoPartSnapshot.of(saved)));
         return AutoPartMapper.entityToResponse(saved);
     }
 
+    /**
+     * Creates (no id) or updates (id set) many parts in one transaction. The whole list is validated
+     * up front and invalid items are reported per index instead of failing the request. Valid items
+     * are written in chunks of {@link #BULK_CHUNK_SIZE}: one select for the chunk's update targets,
+     * then a flush that Hibernate sends as JDBC batches, then a clear to keep the session small.
+     */
+    public AutoPartBulkResponse bulkUpsert(List<AutoPartRequest> requests) {
+        if (requests.size() > bulkMaxItems) {
+            throw new BadRequestException("Bulk request exceeds " + bulkMaxItems + " items");
+        }
+
+        AutoPartBulkItemResult[] results = new AutoPartBulkItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validateBulkItem(requests.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = bulkFailure(i, requests.get(i), errors);
+            }
+        }
+
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>(valid.size());
+        for (int from = 0; from < valid.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + BULK_CHUNK_SIZE, valid.size()));
+
+            List<Long> ids = chunk.stream()
+                    .map(i -> requests.get(i).getId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            Map<Long, AutoPartEntity> existing = ids.isEmpty() ? Collections.emptyMap()
+                    : autoPartRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(AutoPartEntity::getId, Function.identity()));
+
+            List<AutoPartEntity> written = new ArrayList<>(chunk.size());
+            List<AutoPartSnapshot> before = new ArrayList<>(chunk.size());
+            List<Integer> writtenIndexes = new ArrayList<>(chunk.size());
+            for (Integer i : chunk) {
+                AutoPartRequest dto = requests.get(i);
+                if (dto.getId() == null) {
+                    AutoPartEntity part = new AutoPartEntity();
+                    applyRequest(part, dto);
+                    entityManager.persist(part);
+                    written.add(part);
+                    before.add(null);
+                    writtenIndexes.add(i);
+                } else if (existing.containsKey(dto.getId())) {
+                    AutoPartEntity part = existing.get(dto.getId());
+                    before.add(AutoPartSnapshot.of(part));
+                    applyRequest(part, dto);
+                    written.add(part);
+                    writtenIndexes.add(i);
+                } else {
+                    results[i] = bulkFailure(i, dto,
+                            Collections.singletonMap("id", "AutoPart not found with id " + dto.getId()));
+                }
+            }
+            entityManager.flush();
+
+            for (int k = 0; k < written.size(); k++) {
+                AutoPartEntity part = written.get(k);
+                int i = writtenIndexes.get(k);
+                results[i] = AutoPartBulkItemResult.builder()
+                        .index(i)
+                        .id(part.getId())
+                        .status(before.get(k) == null ? AutoPartBulkItemResult.Status.CREATED : AutoPartBulkItemResult.Status.UPDATED)
+                        .build();
+                changes.add(new AutoPartChangedEvent.Change(before.get(k), AutoPartSnapshot.of(part)));
+            }
+            entityManager.clear();
+        }
+
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new AutoPartChangedEvent(changes));
+        }
+
+        int created = 0, updated = 0, failed = 0;
+        for (AutoPartBulkItemResult r : results) {
+            switch (r.getStatus()) {
+                case CREATED: created++; break;
+                case UPDATED: updated++; break;
+                default: failed++;
+            }
+        }
+        return AutoPartBulkResponse.builder()
+                .created(created)
+                .updated(updated)
+                .failed(failed)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private Map<String, String> validateBulkItem(AutoPartRequest dto) {
+        if (dto == null) {
+            return Collections.singletonMap("item", "Item cannot be null");
+        }
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<AutoPartRequest> v : validator.validate(dto)) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        if (dto.getCategory() != null) {
+            try {
+                CategoryEnum.valueOf(dto.getCategory());
+            } catch (IllegalArgumentException ex) {
+                errors.put("category", "Unknown category " + dto.getCategory());
+            }
+        }
+        return errors;
+    }
+
+    private static AutoPartBulkItemResult bulkFailure(int index, AutoPartRequest dto, Map<String, String> errors) {
+        return AutoPartBulkItemResult.builder()
+                .index(index)
+                .id(dto == null ? null : dto.getId())
+                .status(AutoPartBulkItemResult.Status.FAILED)
+                .errors(errors)
+                .build();
+    }
+
+    private static void applyRequest(AutoPartEntity part, AutoPartRequest dto) {
+        part.setName(dto.getName());
+        part.setManufacturer(dto.getManufacturer());
+        part.setPrice(dto.getPrice());
+        part.setCategory(categoryOf(dto.getCategory()));
+        part.setStockQuantity(dto.getStockQuantity());
+    }
+
     public AutoPartResponse getById(Long id) {
+        return readCache.getById(id, this::loadById);
+    }
+
+    private AutoPartResponse loadById(Long id) {
         AutoPartEntity e = autoPartRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("AutoPart not found with id " + id));
         return AutoPartMapper.entityToResponse(e);
     }
 
+    /**
+     * Validators for conditional GETs of a collection: computed with one aggregate query over the
+     * rows a read would return, so an unchanged list is answered without loading, mapping or
+     * serializing them.
+     */
+    @Transactional(readOnly = true)
+    public ChangeStamp allPartsStamp() {
+        return autoPartRepository.changeStamp(null);
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeStamp categoryStamp(String category) {
+        return autoPartRepository.changeStamp(AutoPartSpecifications.categoryEquals(categoryOf(category)));
+    }
+
     public List<AutoPartResponse> getByName(String name) {
         List<AutoPartEntity> list = autoPartRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("AutoPart not found with name " + name));
-        return list.stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
+        return new PartRows(list);
     }
 
     public List<AutoPartResponse> getByCategory(String category) {
-        CategoryEnum cat = CategoryEnum.valueOf(category);
+        return readCache.getByCategory(categoryOf(category), this::loadByCategory);
+    }
 
+    private List<AutoPartResponse> loadByCategory(CategoryEnum cat) {
         List<AutoPartEntity> list = autoPartRepository.findByCategory(cat)
-                .orElseThrow(() -> new ResourceNotFoundException("AutoPart not found with category " + category));
+                .orElseThrow(() -> new ResourceNotFoundException("AutoPart not found with category " + cat));
         return list.stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
     }
 
     public List<AutoPartResponse> getAll() {
-        return autoPartRepository.findAll().stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
+        return new PartRows(autoPartRepository.findAll());
+    }
+
+    /**
+     * Pushes every part to {@code consumer} straight off a JDBC cursor. Each entity is detached as
+     * soon as it has been mapped, so the persistence context (and heap use) stays flat regardless
+     * of table size.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<AutoPartResponse> consumer) {
+        try (Stream<AutoPartEntity> parts = autoPartRepository.streamAll()) {
+            parts.forEach(e -> {
+                AutoPartResponse response = AutoPartMapper.entityToResponse(e);
+                entityManager.detach(e);
+                consumer.accept(response);
+            });
+        }
     }
 
     public Page<AutoPartResponse> getAllPaged(int page, int size) {
-        Page<AutoPartEntity> p = autoPartRepository.findAll(PageRequest.of(page, size));
-        List<AutoPartResponse> content = p.getContent().stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
-        return new PageImpl<>(content, PageRequest.of(p.getNumber(), p.getSize()), p.getTotalElements());
+        return PartRows.page(autoPartRepository.findAll(pageRequest(page, size, Sort.unsorted())));
     }
 
     /**
-     *  Aggregate total value per category = sum(price * stockQuantity)
+     *  Aggregate total value per category = sum(price * stockQuantity), maintained incrementally
+     *  by {@link InventoryValuationTracker}
      */
     public List<AutoPartTotalValuePerCategoryResponse> getTotalValuePerCategory() {
-        List<AutoPartEntity> all = autoPartRepository.findAll();
-        Map<String, Double> totals = all.stream()
-                .filter(e -> e.getPrice() != null && e.getStockQuantity() != null)
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory() == null ? "UNSPECIFIED" : e.getCategory().name(),
-                        Collectors.summingDouble(e -> e.getPrice() * e.getStockQuantity())
-                ));
+        return valuationTracker.currentTotals();
+    }
 
-        return totals.entrySet().stream()
-                .map(entry -> AutoPartTotalValuePerCategoryResponse.builder()
-                        .value(entry.getValue())
-                        .category(entry.getKey())
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * Compare the incrementally maintained totals against a full recompute
+     */
+    @Transactional(readOnly = true)
+    public AutoPartValuationCheckResponse verifyTotalValuePerCategory() {
+        return valuationTracker.verify();
     }
 
     /**
-     * Find by example using Spring Data Example matcher
+     * Find by example using Spring Data Example matcher. Name and manufacturer are resolved through
+     * the text index when it is ready, so only the matching rows are read.
      */
+    @Transactional(readOnly = true)
     public List<AutoPartResponse> findByExample(AutoPartRequest dto) {
-        AutoPartEntity probe = AutoPartEntity.builder()
-                .name(dto.getName())
-                .manufacturer(dto.getManufacturer())
-                .price(dto.getPrice())
-                .category(dto.getCategory() == null ? null : CategoryEnum.valueOf(dto.getCategory()))
-                .stockQuantity(dto.getStockQuantity())
-                .build();
-
-        ExampleMatcher matcher = ExampleMatcher.matchingAll()
-                .withIgnoreNullValues()
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
-                .withIgnoreCase();
+        long[] ids = textIndexMatches(dto);
+        if (ids == null) {
+            return new PartRows(autoPartRepository.findAll(example(dto)));
+        }
 
-        Example<AutoPartEntity> example = Example.of(probe, matcher);
-        List<AutoPartEntity> list = autoPartRepository.findAll(example);
-        return list.stream().map(AutoPartMapper::entityToResponse).collect(Collectors.toList());
+        Specification<AutoPartEntity> rest = exampleValues(dto);
+        List<AutoPartEntity> rows = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += ID_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = idChunk(ids, from);
+            rows.addAll(autoPartRepository.findAll(AutoPartSpecifications.idIn(chunk).and(rest), Sort.by("id")));
+        }
+        return new PartRows(rows);
     }
 
+    /**
+     * Filters, sorts, pages and aggregates entirely in the database: one paged select (plus its count)
+     * and, when requested, one aggregate select over the whole filtered set. When the columnar
+     * snapshot is enabled the aggregates are computed from it instead.
+     */
+    @Transactional(readOnly = true)
     public Map<String, Object> query(AutoPartQueryRequest queryRequest) {
-
-        Pageable pageable = PageRequest.of(
-                queryRequest.getPagination() != null ? queryRequest.getPagination().getPage() : 0,
-                queryRequest.getPagination() != null ? queryRequest.getPagination().getSize() : 10,
-                Sort.by(
-                        Sort.Direction.fromString(
-                                queryRequest.getPagination() != null ? queryRequest.getPagination().getDirection() : "asc"
-                        ),
-                        queryRequest.getPagination() != null ? queryRequest.getPagination().getSortBy() : "id"
-                )
+        AutoPartQueryRequest.Pagination pg = queryRequest.getPagination() != null
+                ? queryRequest.getPagination() : new AutoPartQueryRequest.Pagination();
+        Pageable pageable = pageRequest(
+                pg.getPage(),
+                pg.getSize(),
+                Sort.by(AutoPartSpecifications.requireDirection(pg.getDirection()), AutoPartSpecifications.requireSortable(pg.getSortBy()))
         );
+        AutoPartQueryRequest.Aggregation agg = queryRequest.getAggregation();
+        boolean aggregate = agg != null && agg.getFields() != null && !agg.getFields().isEmpty();
+        if (aggregate) {
+            AutoPartSpecifications.requireAggregation(agg.getFields(), agg.getFunction());
+        }
 
-        AutoPartQueryRequest.Filter f = queryRequest.getFilter();
-        String category = (f != null && f.getCategory() != null) ? f.getCategory() : "";
-        String manufacturer = (f != null && f.getManufacturer() != null) ? f.getManufacturer() : "";
-
-        CategoryEnum categoryEnum = CategoryEnum.valueOf(category);
-        Page<AutoPartEntity> page = autoPartRepository
-                .findByCategoryAndManufacturerContainingIgnoreCase(categoryEnum, manufacturer, pageable);
-
-        List<AutoPartEntity> filtered = page.getContent().stream()
-                .filter(p -> f == null || (
-                        (f.getMinPrice() == null || p.getPrice() >= f.getMinPrice()) &&
-                                (f.getMaxPrice() == null || p.getPrice() <= f.getMaxPrice()) &&
-                                (f.getMinStock() == null || p.getStockQuantity() >= f.getMinStock()) &&
-                                (f.getMaxStock() == null || p.getStockQuantity() <= f.getMaxStock())
-                ))
-                .collect(Collectors.toList());
+        Specification<AutoPartEntity> spec = AutoPartSpecifications.fromFilter(queryRequest.getFilter());
+        Page<AutoPartEntity> page = autoPartRepository.findAll(spec, pageable);
+        List<AutoPartResponse> parts = new PartRows(page.getContent());
 
         Map<String, Object> aggregationResult = new HashMap<>();
-        if (queryRequest.getAggregation() != null) {
-            AutoPartQueryRequest.Aggregation agg = queryRequest.getAggregation();
-            for (String field : agg.getFields()) {
-                Double value = computeAggregation(filtered, field, agg.getFunction());
-                aggregationResult.put(field + "_" + agg.getFunction(), value);
+        if (aggregate) {
+            if (columnStore.isReady()) {
+                ColumnAggregates aggregates = columnStore.aggregate(queryRequest.getFilter());
+                for (String field : agg.getFields()) {
+                    aggregationResult.put(field + "_" + agg.getFunction(), aggregates.value(field, agg.getFunction()));
+                }
+            } else {
+                autoPartRepository.aggregate(spec, agg.getFields(), agg.getFunction())
+                        .forEach((field, value) -> aggregationResult.put(field + "_" + agg.getFunction(), value));
             }
         }
 
@@ -164,7 +389,7 @@ public class AutoPartService {
         response.put("size", page.getSize());
         response.put("totalElements", page.getTotalElements());
         response.put("totalPages", page.getTotalPages());
-        response.put("parts", filtered);
+        response.put("parts", parts);
         if (!aggregationResult.isEmpty()) {
             response.put("aggregations", aggregationResult);
         }
@@ -172,25 +397,44 @@ public class AutoPartService {
         return response;
     }
 
-    private Double computeAggregation(List<AutoPartEntity> parts, String field, String function) {
-        List<Double> values = parts.stream()
-                .map(p -> {
-                    switch (field) {
-                        case "price": return p.getPrice();
-                        case "stockQuantity": return p.getStockQuantity().doubleValue();
-                        default: return 0.0;
-                    }
-                })
-                .collect(Collectors.toList());
-
-        switch (function.toLowerCase()) {
-            case "sum": return values.stream().reduce(0.0, Double::sum);
-            case "avg": return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            case "min": return values.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-            case "max": return values.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-            case "count": return (double) values.size();
-            default: return null;
+    /**
+     * Keyset (cursor) pagination over the same filters as {@link #query}. The first page is requested
+     * without a cursor; later pages pass the returned {@code nextCursor}, which also pins the sort
+     * field and direction. Cost per page is independent of how deep the page is, and the count(*) is
+     * only run when {@code includeTotal} is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<AutoPartResponse> queryByCursor(AutoPartQueryRequest queryRequest) {
+        AutoPartQueryRequest.Pagination pg = queryRequest.getPagination() != null
+                ? queryRequest.getPagination() : new AutoPartQueryRequest.Pagination();
+        if (pg.getSize() < 1 || pg.getSize() > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
         }
+
+        KeysetCursor cursor = pg.getCursor() == null || pg.getCursor().isEmpty() ? null : KeysetCursor.decode(pg.getCursor());
+        String sortBy = cursor != null ? cursor.getSortBy() : KeysetCursor.requireKeysetSortable(pg.getSortBy());
+        Sort.Direction direction = cursor != null ? cursor.getDirection() : AutoPartSpecifications.requireDirection(pg.getDirection());
+
+        Specification<AutoPartEntity> filter = AutoPartSpecifications.fromFilter(queryRequest.getFilter());
+        Specification<AutoPartEntity> spec = cursor == null ? filter : filter.and(cursor.seek());
+
+        // one extra row tells us whether there is a next page without counting
+        List<AutoPartEntity> rows = autoPartRepository.findSlice(spec, KeysetCursor.sort(sortBy, direction), pg.getSize() + 1);
+        boolean hasNext = rows.size() > pg.getSize();
+        List<AutoPartEntity> pageRows = hasNext ? rows.subList(0, pg.getSize()) : rows;
+
+        String nextCursor = hasNext
+                ? KeysetCursor.after(pageRows.get(pageRows.size() - 1), sortBy, direction).encode()
+                : null;
+        Long total = pg.isIncludeTotal() ? autoPartRepository.count(filter) : null;
+
+        return new CursorPagedResponse<>(new PartRows(pageRows), pg.getSize(), nextCursor, total);
+    }
+
+    public Map<String, Object> readCacheStats() {
+        Map<String, Object> stats = readCache.stats();
+        stats.put("jsonFragments", fragmentCache.stats());
+        return stats;
     }
 
     // Total count of parts
@@ -199,12 +443,30 @@ public class AutoPartService {
     }
 
     // Count by example
+    @Transactional(readOnly = true)
     public long countByExample(AutoPartRequest dto) {
+        long[] ids = textIndexMatches(dto);
+        if (ids == null) {
+            return autoPartRepository.count(example(dto));
+        }
+        if (dto.getPrice() == null && dto.getCategory() == null && dto.getStockQuantity() == null) {
+            return ids.length;
+        }
+
+        Specification<AutoPartEntity> rest = exampleValues(dto);
+        long count = 0;
+        for (int from = 0; from < ids.length; from += ID_FETCH_CHUNK_SIZE) {
+            count += autoPartRepository.count(AutoPartSpecifications.idIn(idChunk(ids, from)).and(rest));
+        }
+        return count;
+    }
+
+    private Example<AutoPartEntity> example(AutoPartRequest dto) {
         AutoPartEntity probe = AutoPartEntity.builder()
                 .name(dto.getName())
                 .manufacturer(dto.getManufacturer())
                 .price(dto.getPrice())
-                .category(dto.getCategory() == null ? null : CategoryEnum.valueOf(dto.getCategory()))
+                .category(categoryOf(dto.getCategory()))
                 .stockQuantity(dto.getStockQuantity())
                 .build();
 
@@ -213,34 +475,249 @@ public class AutoPartService {
                 .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
                 .withIgnoreCase();
 
-        Example<AutoPartEntity> example = Example.of(probe, matcher);
-        return autoPartRepository.count(example);
+        return Example.of(probe, matcher);
+    }
+
+    /**
+     * Ids whose name and manufacturer contain the example's values, or null when the example has
+     * no string field or the index is not built yet and the database has to do the matching.
+     */
+    private long[] textIndexMatches(AutoPartRequest dto) {
+        if (dto.getName() == null && dto.getManufacturer() == null || !textIndex.isReady()) {
+            return null;
+        }
+        return textIndex.search(dto.getName(), dto.getManufacturer());
+    }
+
+    private static Specification<AutoPartEntity> exampleValues(AutoPartRequest dto) {
+        return AutoPartSpecifications.valuesEqual(dto.getPrice(),
+                categoryOf(dto.getCategory()),
+                dto.getStockQuantity());
+    }
+
+    private static List<Long> idChunk(long[] ids, int from) {
+        int to = Math.min(ids.length, from + ID_FETCH_CHUNK_SIZE);
+        List<Long> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            chunk.add(ids[i]);
+        }
+        return chunk;
     }
 
     public AutoPartResponse update(Long id, AutoPartRequest dto) {
         AutoPartEntity part = autoPartRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("AutoPart not found with id " + id));
+        AutoPartSnapshot before = AutoPartSnapshot.of(part);
         part.setName(dto.getName());
         part.setManufacturer(dto.getManufacturer());
         part.setPrice(dto.getPrice());
-        part.setCategory(dto.getCategory() == null ? null : CategoryEnum.valueOf(dto.getCategory()));
+        part.setCategory(categoryOf(dto.getCategory()));
         part.setStockQuantity(dto.getStockQuantity());
-        //set update and create dates to null so they are auto-generated
-        part.setCreateDate(null);
-        part.setUpdateDate(null);
-        AutoPartEntity saved = autoPartRepository.save(part);
+        // flushed here so the response (and its ETag) carries the incremented version
+        AutoPartEntity saved = autoPartRepository.saveAndFlush(part);
+        eventPublisher.publishEvent(AutoPartChangedEvent.updated(before, AutoPartSnapshot.of(saved)));
         return AutoPartMapper.entityToResponse(saved);
     }
 
     /**
-     * Hard delete an auto part by id
+     * Writes only the fields set in {@code dto}, as one UPDATE of just those columns that also hands
+     * back the previous row, so nothing is loaded first. With {@code expectedVersion} the write only
+     * happens if the part is still at that version, else {@link VersionConflictException}.
+     */
+    public AutoPartResponse patch(Long id, AutoPartPatchRequest dto, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfSet(changes, "name", dto.getName());
+        putIfSet(changes, "manufacturer", dto.getManufacturer());
+        putIfSet(changes, "price", dto.getPrice());
+        putIfSet(changes, "category", categoryOf(dto.getCategory()));
+        putIfSet(changes, "stockQuantity", dto.getStockQuantity());
+        if (changes.isEmpty()) {
+            throw new BadRequestException("Nothing to update");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        AutoPartEntity part = autoPartRepository.patch(id, expectedVersion, changes, now).orElseThrow(() ->
+                !autoPartRepository.existsById(id)
+                        ? new ResourceNotFoundException("AutoPart not found with id " + id)
+                        : new VersionConflictException("AutoPart " + id + " is no longer at version " + expectedVersion));
+        AutoPartSnapshot before = AutoPartSnapshot.of(part);
+
+        if (dto.getName() != null) part.setName(dto.getName());
+        if (dto.getManufacturer() != null) part.setManufacturer(dto.getManufacturer());
+        if (dto.getPrice() != null) part.setPrice(dto.getPrice());
+        if (dto.getCategory() != null) part.setCategory(categoryOf(dto.getCategory()));
+        if (dto.getStockQuantity() != null) part.setStockQuantity(dto.getStockQuantity());
+        part.setVersion(part.getVersion() + 1);
+        part.setUpdateDate(now);
+
+        eventPublisher.publishEvent(AutoPartChangedEvent.updated(before, AutoPartSnapshot.of(part)));
+        return AutoPartMapper.entityToResponse(part);
+    }
+
+    private static void putIfSet(Map<String, Object> changes, String field, Object value) {
+        if (value != null) {
+            changes.put(field, value);
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units of part {@code id}, failing with {@link InsufficientStockException}
+     * rather than going below zero.
+     * @return the stock left
+     */
+    public StockLevelResponse reserve(Long id, int quantity) {
+        requirePositive(quantity);
+        return adjustStock(id, -quantity);
+    }
+
+    /**
+     * Returns {@code quantity} previously reserved units of part {@code id}.
+     * @return the stock now available
+     */
+    public StockLevelResponse release(Long id, int quantity) {
+        requirePositive(quantity);
+        return adjustStock(id, quantity);
+    }
+
+    /**
+     * Adds the signed {@code delta} to the stock of part {@code id} in one conditional UPDATE, so
+     * concurrent callers neither lose each other's changes nor wait on a read-modify-write.
+     * @return the stock after the change
+     */
+    public StockLevelResponse adjustStock(Long id, int delta) {
+        AutoPartChangedEvent.Change change = applyStockDelta(id, delta);
+        eventPublisher.publishEvent(new AutoPartChangedEvent(Collections.singletonList(change)));
+        return stockLevel(change.getAfter());
+    }
+
+    /**
+     * Applies every adjustment or none: the first part that does not exist or would go negative
+     * rolls the whole batch back. Rows are updated in id order so that concurrent batches touching
+     * the same parts lock them in the same order instead of deadlocking.
+     * @return the stock after each adjustment, in request order
+     */
+    public List<StockLevelResponse> adjustStock(List<StockAdjustmentRequest> adjustments) {
+        if (adjustments.size() > bulkMaxItems) {
+            throw new BadRequestException("Stock adjustment batch exceeds " + bulkMaxItems + " items");
+        }
+        for (StockAdjustmentRequest a : adjustments) {
+            if (a == null || a.getId() == null || a.getDelta() == null) {
+                throw new BadRequestException("Every stock adjustment needs an id and a delta");
+            }
+        }
+
+        // stable sort: adjustments of the same part still apply in request order
+        List<Integer> order = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(i -> adjustments.get(i).getId()));
+
+        StockLevelResponse[] results = new StockLevelResponse[adjustments.size()];
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>(adjustments.size());
+        for (int i : order) {
+            StockAdjustmentRequest a = adjustments.get(i);
+            AutoPartChangedEvent.Change change = applyStockDelta(a.getId(), a.getDelta());
+            changes.add(change);
+            results[i] = stockLevel(change.getAfter());
+        }
+
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new AutoPartChangedEvent(changes));
+        }
+        return Arrays.asList(results);
+    }
+
+    private AutoPartChangedEvent.Change applyStockDelta(Long id, int delta) {
+        AutoPartSnapshot after = autoPartRepository.adjustStock(id, delta).orElseThrow(() ->
+                autoPartRepository.existsById(id)
+                        ? new InsufficientStockException("Insufficient stock for AutoPart with id " + id)
+                        : new ResourceNotFoundException("AutoPart not found with id " + id));
+        AutoPartSnapshot before = new AutoPartSnapshot(after.getId(), after.getName(), after.getManufacturer(),
+                after.getPrice(), after.getCategory(), after.getStockQuantity() - delta);
+        return new AutoPartChangedEvent.Change(before, after);
+    }
+
+    private static StockLevelResponse stockLevel(AutoPartSnapshot part) {
+        return StockLevelResponse.builder()
+                .id(part.getId())
+                .stockQuantity(part.getStockQuantity())
+                .build();
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity < 1) {
+            throw new BadRequestException("Quantity must be at least 1");
+        }
+    }
+
+    /**
+     * Deletes an auto part by id in one statement that also returns the removed row; with soft
+     * delete enabled the row is only marked DELETED and purged later by {@link DeletedPartPurger}.
      * @param id
      */
     public void delete(Long id) {
-        if (!autoPartRepository.existsById(id)) {
+        List<AutoPartSnapshot> removed = autoPartRepository.remove(Collections.singletonList(id), softDelete, LocalDateTime.now());
+        if (removed.isEmpty()) {
             throw new ResourceNotFoundException("AutoPart not found with id " + id);
         }
-        autoPartRepository.deleteById(id);
+        eventPublisher.publishEvent(AutoPartChangedEvent.deleted(removed.get(0)));
     }
-}
 
+    /**
+     * Deletes every part matching {@code filter} in one transaction, {@link #DELETE_CHUNK_SIZE} ids
+     * per statement. An empty filter is rejected rather than emptying the table.
+     */
+    public AutoPartBulkDeleteResponse deleteByFilter(AutoPartQueryRequest.Filter filter) {
+        if (isEmpty(filter)) {
+            throw new BadRequestException("Delete by filter needs at least one filter condition");
+        }
+        Specification<AutoPartEntity> spec = AutoPartSpecifications.fromFilter(filter);
+        LocalDateTime now = LocalDateTime.now();
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>();
+        List<Long> ids;
+        do {
+            ids = autoPartRepository.findIds(spec, DELETE_CHUNK_SIZE);
+            for (AutoPartSnapshot removed : autoPartRepository.remove(ids, softDelete, now)) {
+                changes.add(new AutoPartChangedEvent.Change(removed, null));
+            }
+        } while (ids.size() == DELETE_CHUNK_SIZE);
+
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new AutoPartChangedEvent(changes));
+        }
+        return AutoPartBulkDeleteResponse.builder()
+                .deleted(changes.size())
+                .soft(softDelete)
+                .build();
+    }
+
+    /**
+     * The category a request names, or null when it names none.
+     */
+    private static CategoryEnum categoryOf(String category) {
+        if (category == null) {
+            return null;
+        }
+        try {
+            return CategoryEnum.valueOf(category);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown category " + category);
+        }
+    }
+
+    private static PageRequest pageRequest(int page, int size, Sort sort) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must be at least 0 and size at least 1");
+        }
+        return PageRequest.of(page, size, sort);
+    }
+
+    private static boolean isEmpty(AutoPartQueryRequest.Filter f) {
+        return f == null
+                || (f.getCategory() == null || f.getCategory().trim().isEmpty())
+                && (f.getManufacturer() == null || f.getManufacturer().isEmpty())
+                && f.getMinPrice() == null && f.getMaxPrice() == null
+                && f.getMinStock() == null && f.getMaxStock() == null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.interview.service;
+
+import com.interview.repository.AutoPartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Physically removes soft-deleted parts in the background. Rows go in batches of
+ * {@code app.delete.purge.batch-size}, each in its own short transaction with a pause in between,
+ * so a large retirement never holds locks or competes with live traffic for long.
+ * Only active when soft delete ({@code app.delete.soft}) is on.
+ */
+@Component
+@Lazy(false)
+public class DeletedPartPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletedPartPurger.class);
+
+    private final AutoPartRepository autoPartRepository;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public DeletedPartPurger(AutoPartRepository autoPartRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.delete.soft:false}") boolean enabled,
+                             @Value("${app.delete.purge.batch-size:500}") int batchSize,
+                             @Value("${app.delete.purge.pause-ms:50}") long pauseMs) {
+        this.autoPartRepository = autoPartRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * @return the number of rows removed
+     */
+    @Scheduled(initialDelayString = "${app.delete.purge.interval-ms:60000}",
+            fixedDelayString = "${app.delete.purge.interval-ms:60000}")
+    public synchronized int purge() {
+        if (!enabled) {
+            return 0;
+        }
+        int total = 0;
+        int removed;
+        do {
+            removed = tx.execute(status -> autoPartRepository.purgeDeleted(batchSize));
+            total += removed;
+            if (removed == batchSize && !pause()) {
+                break;
+            }
+        } while (removed == batchSize);
+
+        if (total > 0) {
+            log.info("Purged {} soft-deleted parts", total);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.interview.service;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartTotalValuePerCategoryResponse;
+import com.interview.dto.AutoPartValuationCheckResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.repository.AutoPartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running per-category inventory value (sum of price * stockQuantity).
+ *
+ * Every write publishes an {@link AutoPartChangedEvent}; the deltas are applied to striped
+ * adders once the writing transaction commits, so reads cost O(#categories). A scheduled
+ * reconcile replaces the running totals with a SQL recompute, but only when no write was in
+ * flight while the recompute ran, so it can never double count or drop a delta.
+ */
+@Component
+@Lazy(false)
+public class InventoryValuationTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryValuationTracker.class);
+
+    static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private static final CategoryEnum[] CATEGORIES = CategoryEnum.values();
+    // one slot per category plus a trailing slot for parts without a category
+    private static final int SLOTS = CATEGORIES.length + 1;
+
+    private final AutoPartRepository autoPartRepository;
+
+    private volatile Totals totals = new Totals();
+    private volatile boolean initialized;
+
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    public InventoryValuationTracker(AutoPartRepository autoPartRepository) {
+        this.autoPartRepository = autoPartRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!reconcile()) {
+            log.warn("Inventory valuation not initialized at startup, next scheduled reconcile will retry");
+        }
+    }
+
+    @EventListener
+    public void onChange(AutoPartChangedEvent event) {
+        double[] valueDelta = new double[SLOTS];
+        long[] countDelta = new long[SLOTS];
+        for (AutoPartChangedEvent.Change change : event.getChanges()) {
+            accumulate(change.getBefore(), -1, valueDelta, countDelta);
+            accumulate(change.getAfter(), 1, valueDelta, countDelta);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(valueDelta, countDelta);
+            return;
+        }
+        pendingWrites.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(valueDelta, countDelta);
+                    }
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Current totals for every category that has at least one valued part.
+     */
+    public List<AutoPartTotalValuePerCategoryResponse> currentTotals() {
+        if (!initialized) {
+            return toResponse(recompute());
+        }
+        return toResponse(totals);
+    }
+
+    /**
+     * Compares the running totals with a full SQL recompute.
+     */
+    public AutoPartValuationCheckResponse verify() {
+        Totals tracked = totals;
+        Totals expected = recompute();
+
+        List<AutoPartValuationCheckResponse.CategoryCheck> checks = new ArrayList<>();
+        boolean consistent = initialized;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long trackedCount = tracked.counts[slot].sum();
+            long expectedCount = expected.counts[slot].sum();
+            if (trackedCount == 0 && expectedCount == 0) {
+                continue;
+            }
+            double trackedValue = tracked.values[slot].sum();
+            double expectedValue = expected.values[slot].sum();
+            boolean matches = trackedCount == expectedCount && closeEnough(trackedValue, expectedValue);
+            consistent &= matches;
+            checks.add(AutoPartValuationCheckResponse.CategoryCheck.builder()
+                    .category(slotName(slot))
+                    .trackedValue(trackedValue)
+                    .recomputedValue(expectedValue)
+                    .matches(matches)
+                    .build());
+        }
+        return AutoPartValuationCheckResponse.builder()
+                .consistent(consistent)
+                .categories(checks)
+                .build();
+    }
+
+    /**
+     * Replaces the running totals with a recompute from the database.
+     *
+     * @return false when writes raced with the recompute and the totals were left untouched
+     */
+    @Scheduled(initialDelayString = "${app.valuation.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.valuation.reconcile-interval-ms:300000}")
+    public synchronized boolean reconcile() {
+        if (pendingWrites.get() != 0) {
+            return false;
+        }
+        long appliedBefore = appliedWrites.get();
+        Totals fresh = recompute();
+        swapLock.writeLock().lock();
+        try {
+            if (pendingWrites.get() != 0 || appliedWrites.get() != appliedBefore) {
+                return false;
+            }
+            totals = fresh;
+            initialized = true;
+            return true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private Totals recompute() {
+        Totals fresh = new Totals();
+        for (Object[] row : autoPartRepository.sumInventoryValueByCategory()) {
+            int slot = slotOf((CategoryEnum) row[0]);
+            fresh.values[slot].add(row[1] == null ? 0.0 : ((Number) row[1]).doubleValue());
+            fresh.counts[slot].add(((Number) row[2]).longValue());
+        }
+        return fresh;
+    }
+
+    private void apply(double[] valueDelta, long[] countDelta) {
+        // shared lock: writers apply concurrently, but never against totals that reconcile is replacing
+        swapLock.readLock().lock();
+        try {
+            Totals current = totals;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (countDelta[slot] != 0) {
+                    current.counts[slot].add(countDelta[slot]);
+                }
+                if (valueDelta[slot] != 0.0) {
+                    current.values[slot].add(valueDelta[slot]);
+                }
+            }
+            appliedWrites.incrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void accumulate(AutoPartSnapshot part, int sign, double[] valueDelta, long[] countDelta) {
+        if (part == null || !part.isValued()) {
+            return;
+        }
+        int slot = slotOf(part.getCategory());
+        valueDelta[slot] += sign * part.inventoryValue();
+        countDelta[slot] += sign;
+    }
+
+    private static List<AutoPartTotalValuePerCategoryResponse> toResponse(Totals t) {
+        List<AutoPartTotalValuePerCategoryResponse> result = new ArrayList<>(SLOTS);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (t.counts[slot].sum() > 0) {
+                result.add(AutoPartTotalValuePerCategoryResponse.builder()
+                        .value(t.values[slot].sum())
+                        .category(slotName(slot))
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    private static int slotOf(CategoryEnum category) {
+        return category == null ? CATEGORIES.length : category.ordinal();
+    }
+
+    private static String slotName(int slot) {
+        return slot == CATEGORIES.length ? UNSPECIFIED : CATEGORIES[slot].name();
+    }
+
+    private static boolean closeEnough(double a, double b) {
+        return Math.abs(a - b) <= Math.max(1e-6, 1e-9 * Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    private static final class Totals {
+        final DoubleAdder[] values = new DoubleAdder[SLOTS];
+        final LongAdder[] counts = new LongAdder[SLOTS];
+
+        Totals() {
+            for (int i = 0; i < SLOTS; i++) {
+                values[i] = new DoubleAdder();
+                counts[i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -1,31 +1,34 @@
 
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Brake Pad', 'Brembo', 79.99, 'BRAKES', 150);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (1, 'Brake Pad', 'Brembo', 79.99, 'BRAKES', 150);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Air Filter', 'Bosch', 25.50, 'ENGINE', 200);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (2, 'Air Filter', 'Bosch', 25.50, 'ENGINE', 200);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Headlight', 'Philips', 99.99, 'LIGHTING', 50);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (3, 'Headlight', 'Philips', 99.99, 'LIGHTING', 50);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Oil Filter', 'K&N', 15.75, 'ENGINE', 300);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (4, 'Oil Filter', 'K&N', 15.75, 'ENGINE', 300);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Spark Plug', 'NGK', 9.99, 'ENGINE', 500);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (5, 'Spark Plug', 'NGK', 9.99, 'ENGINE', 500);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Car Battery', 'Exide', 120.00, 'ELECTRICAL', 80);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (6, 'Car Battery', 'Exide', 120.00, 'ELECTRICAL', 80);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Tire', 'Michelin', 150.00, 'TIRES', 100);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (7, 'Tire', 'Michelin', 150.00, 'TIRES', 100);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Windshield Wiper', 'Rain-X', 19.99, 'ACCESSORIES', 250);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (8, 'Windshield Wiper', 'Rain-X', 19.99, 'ACCESSORIES', 250);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Fuel Pump', 'Delphi', 200.00, 'FUEL_SYSTEM', 60);
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (9, 'Fuel Pump', 'Delphi', 200.00, 'FUEL_SYSTEM', 60);
 
-INSERT INTO AUTO_PART (name, manufacturer, price, category, stock_quantity)
-VALUES ('Radiator', 'Denso', 180.00, 'COOLING_SYSTEM', 40);
\ No newline at end of file
+INSERT INTO AUTO_PART (id, name, manufacturer, price, category, stock_quantity)
+VALUES (10, 'Radiator', 'Denso', 180.00, 'COOLING_SYSTEM', 40);
+
+-- ids above are explicit; hand the rest of the range to Hibernate's pooled-lo sequence
+ALTER SEQUENCE AUTO_PART_SEQ RESTART WITH 11;
@@ -0,0 +1,25 @@
+
+-- Schema for persistent databases (profile "persistent"); Hibernate validates it instead of
+-- recreating it. Everything is IF NOT EXISTS so that it is a no-op on every start but the first.
+
+CREATE SEQUENCE IF NOT EXISTS AUTO_PART_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS AUTO_PART (
+    ID BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    MANUFACTURER VARCHAR(255) NOT NULL,
+    PRICE DOUBLE NOT NULL CHECK (PRICE >= 0),
+    CATEGORY VARCHAR(255),
+    STOCK_QUANTITY INTEGER NOT NULL CHECK (STOCK_QUANTITY >= 0),
+    CREATE_TIME TIMESTAMP,
+    UPDATE_TIME TIMESTAMP,
+    STATUS VARCHAR(255),
+    VERSION BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_AUTO_PART_CATEGORY_PRICE ON AUTO_PART (CATEGORY, PRICE);
+CREATE INDEX IF NOT EXISTS IDX_AUTO_PART_NAME ON AUTO_PART (NAME);
+CREATE INDEX IF NOT EXISTS IDX_AUTO_PART_PRICE ON AUTO_PART (PRICE);
+CREATE INDEX IF NOT EXISTS IDX_AUTO_PART_STOCK_QUANTITY ON AUTO_PART (STOCK_QUANTITY);
+CREATE INDEX IF NOT EXISTS IDX_AUTO_PART_STATUS ON AUTO_PART (STATUS);
@@ -0,0 +1,112 @@
+package com.interview.analytics;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class InventoryColumnStoreTest {
+
+    private static final int ROWS = 100_000;
+    private static final String[] MAKERS = {"Bosch", "Brembo", "Denso", "NGK"};
+
+    private InventoryColumnStore store;
+    private final List<AutoPartSnapshot> parts = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        store = new InventoryColumnStore(true, 4, null, null, null);
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            AutoPartSnapshot part = part(id, 1.0 + (id % 500), (int) (id % 300),
+                    id % 7 == 0 ? null : CategoryEnum.values()[(int) (id % CategoryEnum.values().length)],
+                    MAKERS[(int) (id % MAKERS.length)]);
+            parts.add(part);
+            changes.add(new AutoPartChangedEvent.Change(null, part));
+        }
+        store.onChange(new AutoPartChangedEvent(changes));
+    }
+
+    @Test
+    public void testParallelScanMatchesBruteForce() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setCategory("ENGINE");
+        filter.setManufacturer("bo");
+        filter.setMinPrice(100.0);
+        filter.setMaxStock(250);
+
+        assertMatches(filter, store.aggregate(filter));
+        assertMatches(null, store.aggregate(null));
+    }
+
+    @Test
+    public void testUpdatesAndDeletesAreApplied() {
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i += 2) {
+            changes.add(new AutoPartChangedEvent.Change(parts.get(i), null));
+        }
+        AutoPartSnapshot before = parts.get(1);
+        AutoPartSnapshot after = part(before.getId(), 9999.0, 1, CategoryEnum.TIRES, "Michelin");
+        changes.add(new AutoPartChangedEvent.Change(before, after));
+        store.onChange(new AutoPartChangedEvent(changes));
+
+        assertEquals(ROWS / 2, store.size());
+
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("MICHELIN");
+        ColumnAggregates michelin = store.aggregate(filter);
+        assertEquals(1, michelin.getCount());
+        assertEquals(9999.0, michelin.value("price", "max"), 0.0);
+
+        filter.setManufacturer(null);
+        filter.setCategory("TIRES");
+        assertEquals(9999.0, store.aggregate(filter).value("price", "max"), 0.0);
+    }
+
+    @Test
+    public void testEmptySetAggregatesToZero() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setMinPrice(1_000_000.0);
+        ColumnAggregates none = store.aggregate(filter);
+
+        assertEquals(0.0, none.value("price", "min"), 0.0);
+        assertEquals(0.0, none.value("stockQuantity", "count"), 0.0);
+    }
+
+    private void assertMatches(AutoPartQueryRequest.Filter f, ColumnAggregates actual) {
+        long count = 0;
+        double priceSum = 0;
+        double priceMax = 0;
+        long stockSum = 0;
+        int stockMin = Integer.MAX_VALUE;
+        for (AutoPartSnapshot p : parts) {
+            if (f != null && (p.getCategory() != CategoryEnum.ENGINE
+                    || !p.getManufacturer().toLowerCase().contains("bo")
+                    || p.getPrice() < 100.0 || p.getStockQuantity() > 250)) {
+                continue;
+            }
+            count++;
+            priceSum += p.getPrice();
+            priceMax = Math.max(priceMax, p.getPrice());
+            stockSum += p.getStockQuantity();
+            stockMin = Math.min(stockMin, p.getStockQuantity());
+        }
+        assertEquals(count, actual.getCount());
+        assertEquals(priceSum, actual.value("price", "sum"), 1e-6);
+        assertEquals(priceSum / count, actual.value("price", "avg"), 1e-9);
+        assertEquals(priceMax, actual.value("price", "max"), 0.0);
+        assertEquals(stockSum, actual.value("stockQuantity", "sum"), 0.0);
+        assertEquals(stockMin, actual.value("stockQuantity", "min"), 0.0);
+    }
+
+    private static AutoPartSnapshot part(long id, double price, int stock, CategoryEnum category, String manufacturer) {
+        return new AutoPartSnapshot(id, "Part " + id, manufacturer, price, category, stock);
+    }
+}
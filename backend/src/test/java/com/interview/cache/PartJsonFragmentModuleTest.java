@@ -0,0 +1,115 @@
+package com.interview.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.PagedResponse;
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import com.interview.mapper.AutoPartMapper;
+import com.interview.model.AutoPartEntity;
+import org.junit.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class PartJsonFragmentModuleTest {
+
+    private final PartJsonFragmentCache cache = new PartJsonFragmentCache(true, 1 << 20);
+    private final PartJsonFragmentModule module = new PartJsonFragmentModule(
+            new StaticListableBeanFactory(Collections.singletonMap("cache", cache)).getBeanProvider(PartJsonFragmentCache.class));
+    private final ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cached = Jackson2ObjectMapperBuilder.json().modulesToInstall(module).build();
+
+    @Test
+    public void testCachedFragmentsRenderExactlyLikeJackson() throws Exception {
+        List<AutoPartResponse> parts = Arrays.asList(part(1L, "Brake Pad \"Pro\" é", 0L), part(2L, "Rotor", 3L),
+                AutoPartResponse.builder().name("Unsaved").build());
+        PagedResponse<AutoPartResponse> page = new PagedResponse<>(parts, 0, 3, 3, 1);
+
+        String expected = plain.writeValueAsString(page);
+        assertEquals(expected, cached.writeValueAsString(page));
+        assertEquals(expected, new String(cached.writeValueAsBytes(page), "UTF-8"));
+        assertEquals(plain.writeValueAsString(parts.get(1)), cached.writeValueAsString(parts.get(1)));
+        assertEquals(2L, cache.stats().get("size"));
+        assertEquals(3L, cache.stats().get("hits"));
+
+        AutoPartResponse renamed = part(2L, "Drilled Rotor", 4L);
+        assertEquals(plain.writeValueAsString(renamed), cached.writeValueAsString(renamed));
+        assertEquals(1L, cache.stats().get("stale"));
+
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).modulesToInstall(module).build();
+        assertEquals("Drilled Rotor", cbor.readTree(cbor.writeValueAsBytes(renamed)).get("name").asText());
+    }
+
+    @Test
+    public void testRowsCachedAtTheirVersionAreNotMapped() throws Exception {
+        AutoPartEntity hot = spy(row(1L, "Brake Pad", 2L));
+        AutoPartEntity cold = spy(row(2L, "Rotor", 0L));
+        cached.writeValueAsBytes(AutoPartMapper.entityToResponse(row(1L, "Brake Pad", 2L)));
+        PartRows rows = new PartRows(Arrays.asList(hot, cold));
+        Map<String, Object> body = Collections.singletonMap("parts", rows);
+
+        String json = cached.writeValueAsString(body);
+        verify(hot, never()).getName();
+        verify(cold).getName();
+        assertEquals(plain.writeValueAsString(Collections.singletonMap("parts",
+                Arrays.asList(AutoPartMapper.entityToResponse(hot), AutoPartMapper.entityToResponse(cold)))), json);
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+
+        hot.setVersion(3L);
+        String listed = cached.writerFor(new TypeReference<List<AutoPartResponse>>() { }).writeValueAsString(rows);
+        assertEquals(plain.writeValueAsString(rows), listed);
+        assertEquals(1L, cache.stats().get("stale"));
+    }
+
+    @Test
+    public void testCommittedChangesDropFragments() throws Exception {
+        cached.writeValueAsBytes(Arrays.asList(part(1L, "A", 0L), part(2L, "B", 0L)));
+        assertEquals(2L, cache.stats().get("size"));
+
+        cache.onChange(AutoPartChangedEvent.deleted(new AutoPartSnapshot(1L, "A", "Bosch", 9.99, null, 4)));
+        assertEquals(1L, cache.stats().get("size"));
+    }
+
+    private static AutoPartEntity row(Long id, String name, Long version) {
+        AutoPartEntity row = AutoPartEntity.builder()
+                .id(id)
+                .name(name)
+                .manufacturer("Bosch")
+                .price(9.99)
+                .category(CategoryEnum.BRAKES)
+                .stockQuantity(4)
+                .version(version)
+                .build();
+        row.setCreateDate(LocalDateTime.of(2024, 5, 1, 8, 0, 0, 123_000));
+        return row;
+    }
+
+    private static AutoPartResponse part(Long id, String name, Long version) {
+        return AutoPartResponse.builder()
+                .id(id)
+                .name(name)
+                .manufacturer("Bosch")
+                .price(9.99)
+                .category("BRAKES")
+                .stockQuantity(4)
+                .createDate(LocalDateTime.of(2024, 5, 1, 8, 0, 0, 123_000))
+                .status("ACTIVE")
+                .version(version)
+                .build();
+    }
+}
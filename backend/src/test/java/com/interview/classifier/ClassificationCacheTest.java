@@ -0,0 +1,172 @@
+package com.interview.classifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ClassificationCacheTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Chicago");
+    private static final String[] TITLES = {"Replacing camshaft", "replace front left brake caliper",
+            "Stamping vehicle identification number", "Adjusting headlights"};
+
+    private static TitleClassifier classifier;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MutableClock clock = new MutableClock(ZonedDateTime.of(2024, 3, 1, 23, 0, 0, 0, ZONE).toInstant());
+
+    @BeforeClass
+    public static void train() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+    }
+
+    @Test
+    public void testRepeatsAreAnsweredFromTheFileAcrossRestarts() throws IOException {
+        File file = new File(folder.getRoot(), "cache.bin");
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        ClassificationCache cache = new ClassificationCache(classifier, true, file, 64, meters, clock);
+        classifyAll(cache);
+        // the same titles, as normalization sees them
+        for (String title : TITLES) {
+            assertSame(classifier.classify(title), cache.classify(" " + title.toUpperCase() + "!"));
+        }
+        assertEquals(TITLES.length, cache.missCount());
+        assertEquals(TITLES.length, cache.hitCount());
+        assertEquals(0.5, meters.get("classifier.cache.hit.ratio").gauge().value(), 0.0);
+        assertEquals(TITLES.length, meters.get("classifier.cache.lookups").tag("result", "hit").functionCounter().count(), 0.0);
+        assertEquals(2 * TITLES.length, meters.get("classifier.cache.lookup").timer().count());
+        cache.close();
+
+        ClassificationCache reopened = new ClassificationCache(classifier, true, file, 64, null, clock);
+        classifyAll(reopened);
+        assertEquals(TITLES.length, reopened.hitCount());
+        assertEquals(0, reopened.missCount());
+        reopened.close();
+    }
+
+    @Test
+    public void testEntriesExpireAtMidnight() throws IOException {
+        File file = new File(folder.getRoot(), "cache.bin");
+        ClassificationCache cache = new ClassificationCache(classifier, true, file, 64, null, clock);
+        classifyAll(cache);
+        clock.advanceMinutes(59);
+        classifyAll(cache);
+        assertEquals(TITLES.length, cache.hitCount());
+
+        clock.advanceMinutes(1);
+        classifyAll(cache);
+        assertEquals(2 * TITLES.length, cache.missCount());
+        cache.close();
+
+        // a file from yesterday starts empty
+        clock.advanceMinutes(24 * 60);
+        ClassificationCache nextDay = new ClassificationCache(classifier, true, file, 64, null, clock);
+        classifyAll(nextDay);
+        assertEquals(0, nextDay.hitCount());
+        nextDay.close();
+    }
+
+    @Test
+    public void testEntriesOfEarlierDaysMakeRoomLikeEmptySlots() throws IOException {
+        // 8 slots, one bucket: yesterday's titles fill it
+        ClassificationCache cache = new ClassificationCache(classifier, true, folder.newFile(), 8, null, clock);
+        for (int i = 0; i < 8; i++) {
+            cache.classify(TITLES[i % TITLES.length] + " " + i);
+        }
+        clock.advanceMinutes(60);
+        for (int round = 0; round < 2; round++) {
+            for (int i = 8; i < 16; i++) {
+                String title = TITLES[i % TITLES.length] + " " + i;
+                assertSame(classifier.classify(title), cache.classify(title));
+            }
+        }
+        assertEquals(8, cache.hitCount());
+        cache.close();
+    }
+
+    @Test
+    public void testEntriesOfAnotherModelVersionAreDropped() throws IOException {
+        File file = new File(folder.getRoot(), "cache.bin");
+        ClassificationCache cache = new ClassificationCache(classifier, true, file, 64, null, clock);
+        classifyAll(cache);
+        cache.close();
+
+        TitleClassifier stricter = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.5);
+        assertNotEquals(classifier.version(), stricter.version());
+        ClassificationCache reopened = new ClassificationCache(stricter, true, file, 64, null, clock);
+        for (String title : TITLES) {
+            assertSame(stricter.classify(title), reopened.classify(title));
+        }
+        assertEquals(0, reopened.hitCount());
+        reopened.close();
+    }
+
+    @Test
+    public void testFullBucketsEvictWithoutMixingUpEntries() throws IOException {
+        // 8 slots, one bucket: most titles evict another
+        ClassificationCache cache = new ClassificationCache(classifier, true, folder.newFile(), 8, null, clock);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                String title = TITLES[i % TITLES.length] + " " + i;
+                assertSame(classifier.classify(title), cache.classify(title));
+            }
+        }
+        cache.close();
+    }
+
+    private static void classifyAll(ClassificationCache cache) {
+        for (String title : TITLES) {
+            assertSame(classifier.classify(title), cache.classify(title));
+        }
+    }
+
+    private static void assertSame(Classification expected, Classification actual) {
+        assertEquals(expected.getSection(), actual.getSection());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getScore(), actual.getScore(), 0f);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMinutes(long minutes) {
+            now = now.plusSeconds(minutes * 60);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.interview.classifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TitleBatchClassifierTest {
+
+    private static final String[] TITLES = {"Replacing camshaft", "replace front left brake caliper",
+            "Replacing bulb for interior roof light", "Stamping vehicle identification number",
+            "Adjusting headlights", "Replacing right engine mount", ""};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static TitleClassifier classifier;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void train() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+    }
+
+    @Test
+    public void testAnswersEveryTitleInInputOrder() throws IOException {
+        // small chunks, memory and cache, and more distinct titles per chunk than a fork-join leaf
+        ClassificationCache cache = new ClassificationCache(classifier, true, folder.newFile(), 1024, null,
+                Clock.systemDefaultZone());
+        TitleBatchClassifier batch = new TitleBatchClassifier(cache, objectMapper, 1000, 1500, 2);
+        Random random = new Random(7);
+        List<String> titles = new ArrayList<>();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            String title = TITLES[random.nextInt(TITLES.length)];
+            if (random.nextBoolean()) {
+                title = title.toUpperCase() + " #" + random.nextInt(2000);
+            }
+            titles.add(title);
+            ndjson.append(i % 2 == 0 ? objectMapper.writeValueAsString(title)
+                    : "{\"id\":" + i + ",\"title\":" + objectMapper.writeValueAsString(title) + "}").append('\n');
+        }
+
+        List<JsonNode> results = classify(batch, ndjson.toString(), titles.size());
+        for (int i = 0; i < titles.size(); i++) {
+            assertResult(titles.get(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void testAcceptsJsonArray() throws IOException {
+        ClassificationCache uncached = new ClassificationCache(classifier, false, null, 8, null,
+                Clock.systemDefaultZone());
+        TitleBatchClassifier batch = new TitleBatchClassifier(uncached, objectMapper, 2, 10, 1);
+        List<JsonNode> results = classify(batch,
+                "[\"Replacing camshaft\", {\"title\": \"Adjusting headlights\"}, {\"other\": [1]}, null, 42]", 5);
+
+        assertResult("Replacing camshaft", results.get(0));
+        assertResult("Adjusting headlights", results.get(1));
+        for (JsonNode missing : results.subList(2, 5)) {
+            assertEquals(TitleClassifier.UNKNOWN, missing.get("section").asText());
+        }
+    }
+
+    private static List<JsonNode> classify(TitleBatchClassifier batch, String body, int expected) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = batch.classify(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<String> lines = Arrays.asList(out.toString("UTF-8").split("\n"));
+        assertEquals(expected, count);
+        assertEquals(expected, lines.size());
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : lines) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private static void assertResult(String title, JsonNode result) {
+        Classification expected = classifier.classify(title);
+        assertEquals(title, expected.getSection(), result.get("section").asText());
+        assertEquals(title, expected.getName(), result.get("name").asText());
+        assertEquals(title, expected.getScore(), result.get("score").floatValue(), 0f);
+    }
+}
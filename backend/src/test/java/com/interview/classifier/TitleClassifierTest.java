@@ -0,0 +1,55 @@
+package com.interview.classifier;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TitleClassifierTest {
+
+    private static TitleClassifier classifier;
+
+    @BeforeClass
+    public static void train() throws IOException {
+        classifier = new TitleClassifier(new ClassPathResource("classifier/tax.csv"),
+                new ClassPathResource("classifier/dataset.csv"), 0.1);
+    }
+
+    @Test
+    public void testClassifiesIntoTaxonomy() {
+        assertEquals(45, classifier.labelCount());
+        assertLabel("Engine", "Camshaft", "Replacing camshaft");
+        assertLabel("Brakes", "Disc Brake Caliper", "replace front left brake caliper");
+        assertLabel("Lighting", "Interior Bulb", "Replacing bulb for interior roof light");
+        assertLabel("Lighting", "Headlamp Alignment", "Adjusting headlights");
+        assertLabel("Engine", "Engine Mount", "Replacing right engine mount");
+    }
+
+    @Test
+    public void testUnrelatedAndEmptyTitlesAreUnknown() {
+        assertTrue(classifier.classify("Stamping vehicle identification number").isUnknown());
+        assertTrue(classifier.classify("").isUnknown());
+        assertTrue(classifier.classify(" -- / ").isUnknown());
+        assertEquals(TitleClassifier.UNKNOWN, classifier.classify("").getName());
+    }
+
+    @Test
+    public void testIgnoresCaseAndPunctuation() {
+        Classification plain = classifier.classify("replacing left engine mount");
+        Classification noisy = classifier.classify("  REPLACING, left-engine   mount!! ");
+        assertEquals(plain.getName(), noisy.getName());
+        assertEquals(plain.getScore(), noisy.getScore(), 0f);
+        assertEquals("replacing left engine mount", TitleClassifier.normalize("  REPLACING, left-engine   mount!! "));
+        assertEquals(TitleFeatures.hash64("replacing left engine mount"),
+                classifier.normalizedHash("  REPLACING, left-engine   mount!! "));
+    }
+
+    private static void assertLabel(String section, String name, String title) {
+        Classification result = classifier.classify(title);
+        assertEquals(title, section + " / " + name, result.getSection() + " / " + result.getName());
+    }
+}
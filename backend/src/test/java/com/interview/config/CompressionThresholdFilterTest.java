@@ -0,0 +1,32 @@
+package com.interview.config;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.ServletOutputStream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionThresholdFilterTest {
+
+    @Test
+    public void testFlushesOnlyTakeEffectFromTheThreshold() throws Exception {
+        CompressionThresholdFilter filter = new CompressionThresholdFilter(DataSize.ofBytes(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            ServletOutputStream out = res.getOutputStream();
+            out.write(new byte[6]);
+            out.flush();
+            res.flushBuffer();
+            assertFalse(response.isCommitted());
+
+            out.write(new byte[4]);
+            out.flush();
+            assertTrue(response.isCommitted());
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.interview.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ConnectionBulkheadDataSourceTest {
+
+    private ConnectionBulkheadDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bulkhead");
+        dataSource = new ConnectionBulkheadDataSource(h2, 2, 50);
+    }
+
+    @Test
+    public void testPermitIsHeldUntilFirstClose() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        try {
+            dataSource.getConnection();
+            fail("third connection must wait and time out");
+        } catch (SQLTransientConnectionException expected) {
+            // expected
+        }
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        try (Connection third = dataSource.getConnection()) {
+            assertEquals(0, dataSource.getAvailablePermits());
+            third.createStatement().execute("SELECT 1");
+        }
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,46 @@
+package com.interview.config;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("persistent")
+@SpringBootTest(properties = {"app.datasource.file=./target/seed-test/parts", "app.classifier.cache.enabled=false"})
+public class SeedDataLoaderTest {
+
+    @Autowired
+    private SeedDataLoader seedDataLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void startFromEmptyDatabase() {
+        FileSystemUtils.deleteRecursively(new File("target/seed-test"));
+    }
+
+    @Test
+    public void testSeedsOnlyAnEmptyValidatedSchema() {
+        int seeded = count();
+        assertEquals(10, seeded);
+
+        jdbcTemplate.update("DELETE FROM AUTO_PART WHERE ID = 1");
+        seedDataLoader.run(null);
+        assertEquals(seeded - 1, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AUTO_PART", Integer.class);
+    }
+}
@@ -1,11 +1,25 @@
 package com.interview.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.interview.dto.AutoPartPatchRequest;
+import com.interview.dto.AutoPartQueryRequest;
 import com.interview.dto.AutoPartRequest;
 import com.interview.dto.AutoPartResponse;
 import com.interview.dto.AutoPartTotalValuePerCategoryResponse;
+import com.interview.dto.CursorPagedResponse;
+import com.interview.dto.StockLevelResponse;
+import com.interview.dto.StockQuantityRequest;
+import com.interview.exception.BadRequestException;
 import com.interview.exception.GlobalExceptionHandler;
+import com.interview.exception.InsufficientStockException;
 import com.interview.exception.ResourceNotFoundException;
+import com.interview.exception.VersionConflictException;
+import com.interview.repository.ChangeStamp;
+import com.interview.service.AutoPartCsvService;
 import com.interview.service.AutoPartService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -16,14 +30,22 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +61,9 @@ public class AutoPartControllerTest {
     @MockBean
     private AutoPartService service;
 
+    @MockBean
+    private AutoPartCsvService csvService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -59,6 +84,36 @@ public class AutoPartControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Brake Pad"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamAllParts() throws Exception {
+        AutoPartResponse first = AutoPartResponse.builder().id(1L).name("Brake Pad").build();
+        AutoPartResponse second = AutoPartResponse.builder().id(2L).name("Oil Filter").build();
+
+        doAnswer(invocation -> {
+            Consumer<AutoPartResponse> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(service).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/parts/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals('\n', body.charAt(body.length() - 1));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals('{', lines[1].charAt(0));
+        assertEquals(1L, objectMapper.readValue(lines[0], AutoPartResponse.class).getId().longValue());
+        assertEquals("Oil Filter", objectMapper.readValue(lines[1], AutoPartResponse.class).getName());
+    }
+
     @Test
     public void testGetPartById() throws Exception {
         AutoPartResponse part = AutoPartResponse.builder()
@@ -118,6 +173,26 @@ public class AutoPartControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    public void testGetPartsByCursor() throws Exception {
+        AutoPartResponse part = AutoPartResponse.builder()
+                .id(12L)
+                .name("Cursor Part")
+                .manufacturer("Seeker")
+                .price(30.0)
+                .stockQuantity(4)
+                .build();
+
+        when(service.queryByCursor(any(AutoPartQueryRequest.class)))
+                .thenReturn(new CursorPagedResponse<>(Arrays.asList(part), 1, "next-token", null));
+
+        mockMvc.perform(get("/api/v1/parts/cursor").param("size", "1").param("sortBy", "price").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(12))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     public void testFindByExample() throws Exception {
         AutoPartRequest dto = AutoPartRequest.builder()
@@ -272,4 +347,201 @@ public class AutoPartControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("AutoPart not found with id 99"));
     }
+
+    @Test
+    public void testOnlyRequestErrorsAreBadRequests() throws Exception {
+        when(service.query(any())).thenThrow(new BadRequestException("Unsupported sort field color"));
+        mockMvc.perform(post("/api/v1/parts/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported sort field color"));
+
+        // a broken server-side invariant is not the client's fault
+        when(service.getById(98L)).thenThrow(new IllegalArgumentException("Unsupported update field color"));
+        mockMvc.perform(get("/api/v1/parts/98").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void testReserveStock() throws Exception {
+        when(service.reserve(7L, 2)).thenReturn(new StockLevelResponse(7L, 8));
+        when(service.reserve(8L, 2)).thenThrow(new InsufficientStockException("Insufficient stock for AutoPart with id 8"));
+        String json = objectMapper.writeValueAsString(new StockQuantityRequest(2));
+
+        mockMvc.perform(post("/api/v1/parts/7/stock/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQuantity").value(8));
+
+        mockMvc.perform(post("/api/v1/parts/8/stock/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Insufficient stock for AutoPart with id 8"));
+
+        mockMvc.perform(post("/api/v1/parts/7/stock/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new StockQuantityRequest(0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.quantity").exists());
+    }
+
+    @Test
+    public void testPatchPartIsConditionalOnIfMatch() throws Exception {
+        AutoPartPatchRequest dto = AutoPartPatchRequest.builder().price(15.0).build();
+        AutoPartResponse patched = AutoPartResponse.builder().id(9L).name("Brake Pad").price(15.0).version(4L).build();
+        when(service.patch(9L, dto, 3L)).thenReturn(patched);
+        when(service.patch(9L, dto, 2L)).thenThrow(new VersionConflictException("AutoPart 9 is no longer at version 2"));
+        String json = objectMapper.writeValueAsString(dto);
+
+        mockMvc.perform(patch("/api/v1/parts/9")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.price").value(15.0));
+
+        mockMvc.perform(patch("/api/v1/parts/9")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/v1/parts/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").exists());
+    }
+
+    @Test
+    public void testConditionalGetAnswersNotModified() throws Exception {
+        when(service.getById(3L)).thenReturn(AutoPartResponse.builder().id(3L).version(7L)
+                .updateDate(LocalDateTime.of(2024, 1, 1, 12, 0)).build());
+        when(service.allPartsStamp()).thenReturn(new ChangeStamp(40, 12, null));
+
+        mockMvc.perform(get("/api/v1/parts/3").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(content().string(""));
+        verify(service, times(1)).getById(3L);
+
+        mockMvc.perform(get("/api/v1/parts/3").header("If-None-Match", "\"6\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").value(7));
+
+        mockMvc.perform(get("/api/v1/parts").header("If-None-Match", "\"40-12--1\""))
+                .andExpect(status().isNotModified());
+        verify(service, never()).getAll();
+
+        when(service.getAll()).thenReturn(Arrays.asList(AutoPartResponse.builder().id(1L).build()));
+        mockMvc.perform(get("/api/v1/parts").header("If-None-Match", "\"39-12--1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"40-12--1\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    public void testValidatorsDependOnTheNegotiatedFormat() throws Exception {
+        when(service.getById(3L)).thenReturn(AutoPartResponse.builder().id(3L).name("Brake Pad").version(7L).build());
+        when(service.allPartsStamp()).thenReturn(new ChangeStamp(40, 12, null));
+
+        String etag = mockMvc.perform(get("/api/v1/parts/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"7\"", etag);
+
+        mockMvc.perform(get("/api/v1/parts/3").header("If-None-Match", etag).accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andExpect(header().string("ETag", "\"7+x-protobuf\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        mockMvc.perform(get("/api/v1/parts/3").header("If-None-Match", "\"7+x-protobuf\"").accept("application/x-protobuf"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+
+        when(service.getAll()).thenReturn(Arrays.asList(AutoPartResponse.builder().id(1L).build()));
+        mockMvc.perform(get("/api/v1/parts").header("If-None-Match", "\"40-12--1\"").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"40-12--1+cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        AutoPartPatchRequest dto = AutoPartPatchRequest.builder().price(15.0).build();
+        when(service.patch(3L, dto, 7L)).thenReturn(AutoPartResponse.builder().id(3L).price(15.0).version(8L).build());
+        mockMvc.perform(patch("/api/v1/parts/3")
+                .header("If-Match", "\"7+x-protobuf\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    public void testListEndpointsNegotiateBinaryFormats() throws Exception {
+        AutoPartResponse part = AutoPartResponse.builder()
+                .id(5L)
+                .name("Spark Plug")
+                .manufacturer("Bosch")
+                .price(4.5)
+                .stockQuantity(0)
+                .createDate(LocalDateTime.of(1970, 1, 1, 0, 0, 1))
+                .build();
+        when(service.getAll()).thenReturn(Arrays.asList(part));
+        when(service.getAllPaged(0, 1)).thenReturn(new PageImpl<>(Arrays.asList(part), PageRequest.of(0, 1), 3));
+
+        mockMvc.perform(get("/api/v1/parts"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        byte[] cbor = mockMvc.perform(get("/api/v1/parts").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertEquals("Spark Plug", decoded.get(0).get("name").asText());
+        assertEquals("1970-01-01T00:00:01", decoded.get(0).get("createDate").asText());
+
+        mockMvc.perform(get("/api/v1/parts").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+
+        byte[] protobuf = mockMvc.perform(get("/api/v1/parts/paged").param("page", "0").param("size", "1")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn().getResponse().getContentAsByteArray();
+        CodedInputStream page = CodedInputStream.newInstance(protobuf);
+        assertEquals(tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED), page.readTag());
+        CodedInputStream first = CodedInputStream.newInstance(page.readByteArray());
+        assertEquals(tag(1, WireFormat.WIRETYPE_VARINT), first.readTag());
+        assertEquals(5L, first.readInt64());
+        assertEquals(tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED), first.readTag());
+        assertEquals("Spark Plug", first.readString());
+        first.skipField(first.readTag());
+        assertEquals(tag(4, WireFormat.WIRETYPE_FIXED64), first.readTag());
+        assertEquals(4.5, first.readDouble(), 0.0);
+        first.skipField(first.readTag());
+        assertEquals(tag(7, WireFormat.WIRETYPE_VARINT), first.readTag());
+        assertEquals(1_000_000L, first.readInt64());
+        assertEquals(tag(2, WireFormat.WIRETYPE_VARINT), page.readTag());
+        assertEquals(0, page.readInt32());
+        page.skipField(page.readTag());
+        assertEquals(tag(4, WireFormat.WIRETYPE_VARINT), page.readTag());
+        assertEquals(3L, page.readInt64());
+
+        mockMvc.perform(post("/api/v1/parts/count").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private static int tag(int field, int wireType) {
+        return field << 3 | wireType;
+    }
 }
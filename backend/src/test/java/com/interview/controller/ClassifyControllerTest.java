@@ -0,0 +1,81 @@
+package com.interview.controller;
+
+import com.interview.classifier.ClassificationCache;
+import com.interview.classifier.TitleBatchClassifier;
+import com.interview.classifier.TitleClassifier;
+import com.interview.exception.GlobalExceptionHandler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(controllers = ClassifyController.class)
+@Import({GlobalExceptionHandler.class, TitleClassifier.class, ClassificationCache.class, TitleBatchClassifier.class})
+@TestPropertySource(properties = {"app.classifier.cache.enabled=true",
+        "app.classifier.cache.file=target/classify-test/classification-cache.bin",
+        "app.classifier.cache.capacity=4096"})
+public class ClassifyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testClassify() throws Exception {
+        mockMvc.perform(post("/api/v1/classify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Removing and installing/replacing rear brake caliper\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.section").value("Brakes"))
+                .andExpect(jsonPath("$.name").value("Disc Brake Caliper"));
+
+        mockMvc.perform(post("/api/v1/classify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Stamping vehicle identification number\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.section").value("unknown"))
+                .andExpect(jsonPath("$.name").value("unknown"));
+    }
+
+    @Test
+    public void testClassifyRequiresTitle() throws Exception {
+        mockMvc.perform(post("/api/v1/classify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testClassifyBatch() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/v1/classify/batch")
+                .contentType("application/x-ndjson")
+                .content("\"Replacing camshaft\"\n{\"title\":\"Stamping vehicle identification number\"}\n"
+                        + "\"REPLACING CAMSHAFT!\"\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Camshaft\""));
+        assertTrue(lines[1].contains("\"name\":\"unknown\""));
+        assertEquals(lines[0], lines[2]);
+    }
+}
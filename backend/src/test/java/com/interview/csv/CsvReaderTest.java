@@ -0,0 +1,48 @@
+package com.interview.csv;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testQuotedFieldsAndLineEndings() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\nlast,,"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(Arrays.asList("x, y", "say \"hi\"", "two\nlines"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertEquals(Collections.singletonList(""), reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertEquals(Arrays.asList("last", "", ""), reader.next());
+        assertEquals(5, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testWriterOutputReadsBack() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRecord(1L, "Pad, front", null, 9.5, "quote\"d");
+        writer.flush();
+
+        assertEquals("1,\"Pad, front\",,9.5,\"quote\"\"d\"\n", out.toString());
+        assertEquals(Arrays.asList("1", "Pad, front", "", "9.5", "quote\"d"),
+                new CsvReader(new StringReader(out.toString())).next());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedQuoteIsRejected() throws IOException {
+        new CsvReader(new StringReader("\"open,1\n")).next();
+    }
+}
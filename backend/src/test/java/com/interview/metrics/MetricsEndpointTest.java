@@ -0,0 +1,45 @@
+package com.interview.metrics;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "app.metrics.hibernate-statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=LEGACY;LAZY_QUERY_EXECUTION=1"
+})
+@AutoConfigureMockMvc
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testPrometheusScrapeExposesRequestHibernatePoolAndRateLimiterMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/parts/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds{exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/v1/parts/{id}\",quantile=\"0.99\",}")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_statements{method=\"GET\",uri=\"/api/v1/parts/{id}\",quantile=\"0.95\",}")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("ratelimit_buckets{class=\"READ\",}")))
+                .andExpect(content().string(containsString(
+                        "ratelimit_requests_total{class=\"READ\",outcome=\"allowed\",}")));
+    }
+}
@@ -0,0 +1,41 @@
+package com.interview.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatementCountInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatementCountInterceptor interceptor = new StatementCountInterceptor(registry);
+
+    @Test
+    public void testOneSummaryPerMethodAndUriTemplate() {
+        handle("GET", "/api/v1/parts/{id}");
+        handle("GET", "/api/v1/parts/{id}");
+        handle("PUT", "/api/v1/parts/{id}");
+        handle("GET", null);
+
+        DistributionSummary byId = registry.get(StatementCountInterceptor.METRIC)
+                .tag("method", "GET").tag("uri", "/api/v1/parts/{id}").summary();
+        assertEquals(2, byId.count());
+        assertEquals(1, registry.get(StatementCountInterceptor.METRIC).tag("method", "PUT").summary().count());
+        assertEquals(1, registry.get(StatementCountInterceptor.METRIC).tag("uri", "UNKNOWN").summary().count());
+        assertEquals(3, registry.get(StatementCountInterceptor.METRIC).summaries().size());
+    }
+
+    private void handle(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/parts/1");
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.interview.metrics;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Default configuration: no Hibernate statistics, statements per request still counted.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StatementCountMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testStatementsAreCountedWithoutHibernateStatistics() throws Exception {
+        mockMvc.perform(get("/api/v1/parts/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_statements_count{method=\"GET\",uri=\"/api/v1/parts/{id}\",}")))
+                .andExpect(content().string(not(containsString("hibernate_statements_total"))));
+    }
+}
@@ -0,0 +1,113 @@
+package com.interview.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long now;
+    private SimpleMeterRegistry meters;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Before
+    public void setUp() {
+        meters = new SimpleMeterRegistry();
+        // limit 10: critical may fill 10, normal 9, sheddable 5; no waiting unless a test asks for it
+        limiter = newLimiter(0);
+    }
+
+    @Test
+    public void testSheddableIsRejectedOverItsShareWhileCriticalStillFits() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+        }
+        assertFalse(limiter.tryAcquire(Priority.SHEDDABLE));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1.0, meters.get("concurrency.shed").tag("priority", "SHEDDABLE").counter().count(), 0.0);
+        assertEquals(10.0, meters.get("concurrency.inflight").gauge().value(), 0.0);
+    }
+
+    @Test
+    public void testSlowSamplesShrinkAndFastSamplesGrowTheLimit() throws Exception {
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(Priority.NORMAL, 5 * MS);
+
+        for (int i = 0; i < 10; i++) {
+            now += 100 * MS;
+            limiter.tryAcquire(Priority.NORMAL);
+            limiter.release(Priority.NORMAL, 50 * MS);
+        }
+        int shrunk = limiter.getLimit();
+        assertTrue("limit " + shrunk, shrunk < 10);
+        assertEquals(shrunk, (int) meters.get("concurrency.limit").gauge().value());
+
+        // slow sheddable scans are not latency samples
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        limiter.release(Priority.SHEDDABLE, 10_000 * MS);
+        assertEquals(shrunk, limiter.getLimit());
+
+        // growth only happens while the limit is actually in use
+        for (int round = 0; round < 100; round++) {
+            int load = limiter.getLimit();
+            for (int i = 0; i < load; i++) {
+                limiter.tryAcquire(Priority.CRITICAL);
+            }
+            for (int i = 0; i < load; i++) {
+                limiter.release(Priority.CRITICAL, 5 * MS);
+            }
+        }
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    public void testQueuedRequestIsAdmittedWhenAPermitIsReleased() throws Exception {
+        limiter = newLimiter(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+
+        AtomicBoolean admitted = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                admitted.set(limiter.tryAcquire(Priority.NORMAL));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        waiter.start();
+        while (meters.get("concurrency.queued").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        limiter.release(Priority.NORMAL, MS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(admitted.get());
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(long maxWaitNanos) {
+        meters = new SimpleMeterRegistry();
+        return new AdaptiveConcurrencyLimiter(10, 2, 100, 4, maxWaitNanos, 2.0, 0.9, 0.9, 0.5,
+                meters, () -> now);
+    }
+}
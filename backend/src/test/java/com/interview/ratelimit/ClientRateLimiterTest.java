@@ -0,0 +1,118 @@
+package com.interview.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.controller.AutoPartController;
+import com.interview.service.AutoPartCsvService;
+import com.interview.service.AutoPartService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ClientRateLimiterTest {
+
+    private long now = TimeUnit.HOURS.toNanos(1);
+    private SimpleMeterRegistry meters;
+    private ClientRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        meters = new SimpleMeterRegistry();
+        // reads: burst 3, one token per 100ms; writes: burst 1, one token per second
+        limiter = new ClientRateLimiter(3, 10, 1, 1, meters, () -> now);
+    }
+
+    @Test
+    public void testBurstThenRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("shop-1", EndpointClass.READ));
+        }
+        long wait = limiter.tryAcquire("shop-1", EndpointClass.READ);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now += wait;
+        assertEquals(0, limiter.tryAcquire("shop-1", EndpointClass.READ));
+        assertTrue(limiter.tryAcquire("shop-1", EndpointClass.READ) > 0);
+
+        assertEquals(4.0, meters.get("ratelimit.requests").tag("class", "READ").tag("outcome", "allowed").counter().count(), 0.0);
+        assertEquals(2.0, meters.get("ratelimit.requests").tag("class", "READ").tag("outcome", "rejected").counter().count(), 0.0);
+    }
+
+    @Test
+    public void testClientsAndEndpointClassesHaveSeparateBudgets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("noisy", EndpointClass.READ);
+        }
+        assertTrue(limiter.tryAcquire("noisy", EndpointClass.READ) > 0);
+
+        assertEquals(0, limiter.tryAcquire("quiet", EndpointClass.READ));
+        assertEquals(0, limiter.tryAcquire("noisy", EndpointClass.WRITE));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("noisy", EndpointClass.WRITE));
+    }
+
+    @Test
+    public void testOnlyFullBucketsAreEvicted() {
+        limiter.tryAcquire("a", EndpointClass.READ);
+        limiter.tryAcquire("b", EndpointClass.WRITE);
+        now += TimeUnit.MILLISECONDS.toNanos(200);
+
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.bucketCount());
+        assertTrue(limiter.tryAcquire("b", EndpointClass.WRITE) > 0);
+    }
+
+    @Test
+    public void testInterceptorRejectsWithRetryAfterAndKeysOnApiKey() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter, "X-API-Key");
+
+        MockHttpServletRequest first = new MockHttpServletRequest("DELETE", "/api/v1/parts/1");
+        first.addHeader("X-API-Key", "shop-1");
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(first, rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+
+        MockHttpServletRequest sameAddressOtherKey = new MockHttpServletRequest("DELETE", "/api/v1/parts/1");
+        sameAddressOtherKey.addHeader("X-API-Key", "shop-2");
+        assertTrue(interceptor.preHandle(sameAddressOtherKey, new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/parts"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    public void testStreamedResponseIsChargedOnce() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new AutoPartController(mock(AutoPartService.class), mock(AutoPartCsvService.class),
+                        new ObjectMapper()))
+                .addInterceptors(new RateLimitInterceptor(limiter, "X-API-Key"))
+                .build();
+
+        MvcResult started = mockMvc.perform(get("/api/v1/parts/stream").header("X-API-Key", "shop-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertEquals(1.0, meters.get("ratelimit.requests").tag("class", "READ").tag("outcome", "allowed").counter().count(), 0.0);
+        assertEquals(0, limiter.tryAcquire("shop-1", EndpointClass.READ));
+        assertEquals(0, limiter.tryAcquire("shop-1", EndpointClass.READ));
+        assertTrue(limiter.tryAcquire("shop-1", EndpointClass.READ) > 0);
+    }
+}
@@ -0,0 +1,172 @@
+package com.interview.repository;
+
+import com.interview.constants.CategoryEnum;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.exception.BadRequestException;
+import com.interview.model.AutoPartEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class AutoPartRepositoryTest {
+
+    @Autowired
+    private AutoPartRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Before
+    public void setUp() {
+        for (int i = 1; i <= 12; i++) {
+            repository.save(AutoPartEntity.builder()
+                    .name("Test Part " + i)
+                    .manufacturer(i % 2 == 0 ? "Test_Co" : "TestXCo")
+                    .price(10.0 * i)
+                    .category(i % 3 == 0 ? CategoryEnum.EXHAUST : CategoryEnum.BODY)
+                    .stockQuantity(i)
+                    .build());
+        }
+    }
+
+    @Test
+    public void testFilterIsAppliedBeforePaging() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("test");
+        filter.setMinPrice(30.0);
+        filter.setMaxStock(10);
+
+        Page<AutoPartEntity> page = repository.findAll(AutoPartSpecifications.fromFilter(filter),
+                PageRequest.of(0, 3, Sort.by("price")));
+
+        assertEquals(8, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        assertEquals(30.0, page.getContent().get(0).getPrice(), 0.0);
+    }
+
+    @Test
+    public void testManufacturerWildcardsAreLiterals() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("t_co");
+
+        assertEquals(6, repository.count(AutoPartSpecifications.fromFilter(filter)));
+    }
+
+    @Test
+    public void testBlankCategoryMeansAnyCategory() {
+        assertNull(AutoPartSpecifications.parseCategory(""));
+
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setCategory("exhaust");
+        filter.setManufacturer("test");
+
+        assertEquals(4, repository.count(AutoPartSpecifications.fromFilter(filter)));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testUnknownCategoryIsRejected() {
+        AutoPartSpecifications.parseCategory("WHEELS");
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testUnknownAggregateFunctionIsRejected() {
+        AutoPartSpecifications.requireAggregation(Collections.singletonList("price"), "median");
+    }
+
+    @Test
+    public void testAggregateCoversWholeFilteredSet() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("test");
+        Specification<AutoPartEntity> spec = AutoPartSpecifications.fromFilter(filter);
+
+        Map<String, Double> sums = repository.aggregate(spec, Arrays.asList("price", "stockQuantity"), "sum");
+        assertEquals(780.0, sums.get("price"), 0.0001);
+        assertEquals(78.0, sums.get("stockQuantity"), 0.0001);
+
+        assertEquals(12.0, repository.aggregate(spec, Arrays.asList("price"), "count").get("price"), 0.0);
+        assertEquals(65.0, repository.aggregate(spec, Arrays.asList("price"), "AVG").get("price"), 0.0001);
+        assertEquals(120.0, repository.aggregate(spec, Arrays.asList("price"), "max").get("price"), 0.0);
+    }
+
+    @Test
+    public void testKeysetWalkVisitsEveryRowOnceDespiteTies() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("test");
+        Specification<AutoPartEntity> base = AutoPartSpecifications.fromFilter(filter);
+        Sort sort = KeysetCursor.sort("manufacturer", Sort.Direction.DESC);
+
+        Set<Long> seen = new HashSet<>();
+        KeysetCursor cursor = null;
+        int pages = 0;
+        while (true) {
+            Specification<AutoPartEntity> spec = cursor == null ? base : base.and(KeysetCursor.decode(cursor.encode()).seek());
+            List<AutoPartEntity> rows = repository.findSlice(spec, sort, 5);
+            if (rows.isEmpty()) {
+                break;
+            }
+            pages++;
+            rows.forEach(r -> assertTrue(seen.add(r.getId())));
+            cursor = KeysetCursor.after(rows.get(rows.size() - 1), "manufacturer", Sort.Direction.DESC);
+        }
+
+        assertEquals(12, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testKeysetRejectsNullableSortField() {
+        KeysetCursor.requireKeysetSortable("category");
+    }
+
+    @Test
+    public void testAggregateOfEmptySetIsZero() {
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("no such maker");
+
+        Map<String, Double> result = repository.aggregate(AutoPartSpecifications.fromFilter(filter),
+                Arrays.asList("price"), "min");
+        assertEquals(0.0, result.get("price"), 0.0);
+    }
+
+    @Test
+    public void testChangeStampMovesOnEveryKindOfWrite() {
+        Specification<AutoPartEntity> exhaust = AutoPartSpecifications.categoryEquals(CategoryEnum.EXHAUST);
+        ChangeStamp initial = repository.changeStamp(exhaust);
+        assertEquals(4, initial.getCount());
+        assertTrue(initial.lastModifiedMillis() > 0);
+
+        AutoPartEntity part = repository.findAll(exhaust).get(0);
+        part.setPrice(1.0);
+        entityManager.flush();
+        ChangeStamp updated = repository.changeStamp(exhaust);
+        assertEquals(initial.getCount(), updated.getCount());
+        assertEquals(initial.getVersionSum() + 1, updated.getVersionSum());
+
+        repository.delete(part);
+        entityManager.flush();
+        assertEquals(3, repository.changeStamp(exhaust).getCount());
+    }
+}
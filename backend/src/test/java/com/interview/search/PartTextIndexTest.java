@@ -0,0 +1,125 @@
+package com.interview.search;
+
+import com.interview.event.AutoPartChangedEvent;
+import com.interview.event.AutoPartSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PartTextIndexTest {
+
+    private static final String[] WORDS = {"Brake", "Pad", "Oil", "FILTER", "Spark", "plug", "100%", "x_y", "Ölwanne"};
+    private static final String[] MAKERS = {"Bosch", "Brembo", "Denso", "NGK", "Mann_Filter", null};
+    private static final String[] NEEDLES = {"", "b", "ra", "RAK", "brake pad", "ake p", "x_y", "_", "%", "0%",
+            "filter", "ölw", "nosuch", "bo", "mann_f", "o s"};
+
+    private PartTextIndex index;
+    private final Map<Long, AutoPartSnapshot> parts = new LinkedHashMap<>();
+    private final Random random = new Random(42);
+
+    @Before
+    public void setUp() {
+        index = new PartTextIndex(true, null, null, null);
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            changes.add(new AutoPartChangedEvent.Change(null, put(id)));
+        }
+        index.onChange(new AutoPartChangedEvent(changes));
+    }
+
+    @Test
+    public void testMatchesSubstringSemantics() {
+        assertAllNeedlesMatch();
+    }
+
+    @Test
+    public void testUpdatesDeletesAndCompactionAreApplied() {
+        List<AutoPartChangedEvent.Change> changes = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            AutoPartSnapshot before = parts.get(id);
+            if (id % 3 == 0) {
+                parts.remove(id);
+                changes.add(new AutoPartChangedEvent.Change(before, null));
+            } else {
+                changes.add(new AutoPartChangedEvent.Change(before, put(id)));
+            }
+        }
+        index.onChange(new AutoPartChangedEvent(changes));
+
+        assertEquals(parts.size(), index.size());
+        assertAllNeedlesMatch();
+    }
+
+    @Test
+    public void testSearchesRunConcurrentlyWithChanges() throws Exception {
+        ExecutorService searchers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> searches = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                searches.add(searchers.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        for (String needle : NEEDLES) {
+                            index.search(needle, null);
+                        }
+                    }
+                }));
+            }
+            for (long id = 1; id <= 5000; id += 7) {
+                AutoPartSnapshot before = parts.get(id);
+                index.onChange(new AutoPartChangedEvent(Collections.singletonList(
+                        new AutoPartChangedEvent.Change(before, put(id)))));
+            }
+            for (Future<?> search : searches) {
+                search.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            searchers.shutdownNow();
+        }
+        assertAllNeedlesMatch();
+    }
+
+    private void assertAllNeedlesMatch() {
+        for (String name : NEEDLES) {
+            assertArrayEquals(name, expected(name, null), index.search(name, null));
+            for (String maker : NEEDLES) {
+                assertArrayEquals(name + "/" + maker, expected(name, maker), index.search(name, maker));
+            }
+        }
+    }
+
+    private long[] expected(String name, String manufacturer) {
+        return parts.values().stream()
+                .filter(p -> contains(p.getName(), name) && contains(p.getManufacturer(), manufacturer))
+                .mapToLong(AutoPartSnapshot::getId)
+                .sorted()
+                .toArray();
+    }
+
+    private static boolean contains(String value, String needle) {
+        return needle == null
+                || value != null && value.toLowerCase(Locale.ROOT).contains(needle.toLowerCase(Locale.ROOT));
+    }
+
+    private AutoPartSnapshot put(long id) {
+        String name = String.join(" ", Arrays.asList(WORDS[random.nextInt(WORDS.length)],
+                WORDS[random.nextInt(WORDS.length)], String.valueOf(random.nextInt(50))));
+        AutoPartSnapshot part = new AutoPartSnapshot(id, name, MAKERS[random.nextInt(MAKERS.length)], 1.0, null, 1);
+        parts.put(id, part);
+        return part;
+    }
+}
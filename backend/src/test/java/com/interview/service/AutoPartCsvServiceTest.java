@@ -0,0 +1,110 @@
+package com.interview.service;
+
+import com.interview.dto.AutoPartImportResponse;
+import com.interview.dto.AutoPartRequest;
+import com.interview.dto.AutoPartResponse;
+import com.interview.exception.BadRequestException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:csvimport;MODE=LEGACY;LAZY_QUERY_EXECUTION=1",
+        "app.import.batch-size=2"})
+public class AutoPartCsvServiceTest {
+
+    @Autowired
+    private AutoPartCsvService csvService;
+
+    @Autowired
+    private AutoPartService service;
+
+    @Test
+    public void testImportSkipsAndReportsInvalidRows() throws IOException {
+        String csv = "stockQuantity,Name,manufacturer,price,category,id\n"
+                + "4,Csv Wiper,\"Acme, Inc.\",12.5,body,999\n"
+                + "1,Csv Wiper,Acme,-3,BODY,\n"
+                + "2,,Acme,1,BODY,\n"
+                + "x,Csv Wiper,Acme,1,WINGS,\n"
+                + "\n"
+                + "7,Csv Wiper,Acme,2.0,,\n"
+                + "9,Csv Wiper,Acme,3.0,ENGINE,\n";
+
+        AutoPartImportResponse response = csvService.importCsv(stream(csv));
+
+        assertEquals(3, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getErrors().containsKey("price"));
+        assertTrue(response.getErrors().get(1).getErrors().containsKey("name"));
+        assertTrue(response.getErrors().get(2).getErrors().containsKey("stockQuantity"));
+        assertTrue(response.getErrors().get(2).getErrors().containsKey("category"));
+
+        List<AutoPartResponse> imported = service.findByExample(AutoPartRequest.builder().name("Csv Wiper").build());
+        assertEquals(3, imported.size());
+        assertTrue(imported.stream().noneMatch(p -> p.getId() == 999L));
+        assertTrue(imported.stream().anyMatch(p -> "Acme, Inc.".equals(p.getManufacturer()) && "BODY".equals(p.getCategory())));
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+
+        // ids come from the application's sequence, so regular creates keep working
+        service.create(AutoPartRequest.builder().name("After Import").manufacturer("Acme").price(1.0).stockQuantity(1).build());
+    }
+
+    @Test
+    public void testImportAcceptsOnlyFiniteDecimalPrices() throws IOException {
+        String csv = "name,manufacturer,price,stockQuantity\n"
+                + "Csv Filter,Acme,Infinity,1\n"
+                + "Csv Filter,Acme,1e400,1\n"
+                + "Csv Filter,Acme,0x1p3,1\n"
+                + "Csv Filter,Acme,NaN,1\n"
+                + "Csv Filter,Acme,2e1,1\n"
+                + "Csv Filter,Acme," + new String(new char[400]).replace('\0', '9') + ",1\n"
+                + "Csv Filter,Acme,.5,1\n"
+                + "Csv Filter,Acme,8.,1\n";
+
+        AutoPartImportResponse response = csvService.importCsv(stream(csv));
+
+        assertEquals(2, response.getImported());
+        assertEquals(6, response.getFailed());
+        assertTrue(response.getErrors().stream().allMatch(e -> e.getErrors().containsKey("price")));
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    @Test
+    public void testExportReimportsAsTheSameCatalog() throws IOException {
+        StringWriter first = new StringWriter();
+        csvService.exportCsv(first);
+        String[] lines = first.toString().split("\n");
+        assertEquals("id,name,manufacturer,price,category,stockQuantity", lines[0]);
+        assertEquals(service.count() + 1, lines.length);
+
+        long before = service.count();
+        AutoPartImportResponse response = csvService.importCsv(stream(first.toString()));
+        assertEquals(before, response.getImported());
+        assertEquals(0, response.getFailed());
+        assertEquals(2 * before, service.count());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testHeaderMustNameRequiredColumns() throws IOException {
+        csvService.importCsv(stream("name,price\nPad,1\n"));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
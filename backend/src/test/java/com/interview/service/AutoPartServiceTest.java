@@ -0,0 +1,266 @@
+package com.interview.service;
+
+import com.interview.dto.AutoPartBulkDeleteResponse;
+import com.interview.dto.AutoPartBulkItemResult;
+import com.interview.dto.AutoPartBulkResponse;
+import com.interview.dto.AutoPartPatchRequest;
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.dto.AutoPartRequest;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.StockAdjustmentRequest;
+import com.interview.dto.StockLevelResponse;
+import com.interview.exception.BadRequestException;
+import com.interview.exception.InsufficientStockException;
+import com.interview.exception.ResourceNotFoundException;
+import com.interview.exception.VersionConflictException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AutoPartServiceTest {
+
+    @Autowired
+    private AutoPartService service;
+
+    @Test
+    public void testBulkUpsertReportsPerItemResults() {
+        AutoPartBulkResponse first = service.bulkUpsert(Arrays.asList(
+                request(null, "Bulk Rotor", "BRAKES"),
+                request(null, "", "BRAKES"),
+                request(null, "Bulk Hose", "NOT_A_CATEGORY"),
+                request(null, "Bulk Belt", null)));
+
+        assertEquals(2, first.getCreated());
+        assertEquals(2, first.getFailed());
+        assertEquals(AutoPartBulkItemResult.Status.CREATED, first.getResults().get(0).getStatus());
+        assertTrue(first.getResults().get(1).getErrors().containsKey("name"));
+        assertTrue(first.getResults().get(2).getErrors().containsKey("category"));
+        Long rotorId = first.getResults().get(0).getId();
+        assertNotNull(rotorId);
+        assertTrue("sequence ids must not collide with seeded rows", rotorId > 10);
+
+        AutoPartBulkResponse second = service.bulkUpsert(Arrays.asList(
+                request(rotorId, "Bulk Rotor v2", "BRAKES"),
+                request(Long.MAX_VALUE, "Ghost", "BRAKES")));
+
+        assertEquals(1, second.getUpdated());
+        assertEquals(1, second.getFailed());
+        assertEquals("Bulk Rotor v2", service.getById(rotorId).getName());
+        assertTrue(second.getResults().get(1).getErrors().containsKey("id"));
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    @Test
+    public void testCachedReadsAreInvalidatedByWrites() {
+        AutoPartResponse created = service.create(request(null, "Cached Caliper", "BRAKES"));
+        long hitsBefore = cacheHits();
+
+        assertEquals("Cached Caliper", service.getById(created.getId()).getName());
+        assertEquals("Cached Caliper", service.getById(created.getId()).getName());
+        assertEquals(hitsBefore + 1, cacheHits());
+        assertTrue(service.getByCategory("BRAKES").stream().anyMatch(p -> p.getId().equals(created.getId())));
+
+        service.update(created.getId(), request(null, "Cached Caliper v2", "ENGINE"));
+        assertEquals("Cached Caliper v2", service.getById(created.getId()).getName());
+        assertFalse(service.getByCategory("BRAKES").stream().anyMatch(p -> p.getId().equals(created.getId())));
+
+        service.delete(created.getId());
+        try {
+            service.getById(created.getId());
+            fail("deleted part must not be served from the cache");
+        } catch (ResourceNotFoundException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSearchByExampleUsesIndexWithContainingSemantics() {
+        AutoPartResponse strut = service.create(request(null, "Front Strut_100%", "SUSPENSION"));
+        AutoPartResponse mount = service.create(request(null, "Strut Mount", "SUSPENSION"));
+        service.create(request(null, "Strut Mount", "BODY"));
+
+        AutoPartRequest byName = AutoPartRequest.builder().name("STRUT").category("SUSPENSION").build();
+        assertEquals(Arrays.asList(strut.getId(), mount.getId()), ids(service.findByExample(byName)));
+        assertEquals(2, service.countByExample(byName));
+
+        AutoPartRequest literal = AutoPartRequest.builder().name("t_100%").manufacturer("bulk").build();
+        assertEquals(Arrays.asList(strut.getId()), ids(service.findByExample(literal)));
+        assertEquals(0, service.countByExample(AutoPartRequest.builder().name("t_1000").build()));
+
+        service.update(strut.getId(), request(null, "Rear Shock", "SUSPENSION"));
+        service.delete(mount.getId());
+        assertEquals(0, service.countByExample(byName));
+        assertEquals(1, service.countByExample(AutoPartRequest.builder().name("r sho").category("SUSPENSION").build()));
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws Exception {
+        AutoPartResponse hot = service.create(request(null, "Hot Filter", "ENGINE"));
+        service.release(hot.getId(), 45);  // 50 in stock
+
+        int threads = 8;
+        int attemptsPerThread = 10;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Future<?>[] futures = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            futures[t] = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        assertTrue(service.reserve(hot.getId(), 1).getStockQuantity() >= 0);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(50, reserved.get());
+        assertEquals(threads * attemptsPerThread - 50, rejected.get());
+        assertEquals(Integer.valueOf(0), service.getById(hot.getId()).getStockQuantity());
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    @Test
+    public void testStockBatchIsAllOrNothing() {
+        Long a = service.create(request(null, "Batch Pump", "ENGINE")).getId();
+        Long b = service.create(request(null, "Batch Hose", "ENGINE")).getId();
+
+        List<StockLevelResponse> levels = service.adjustStock(Arrays.asList(
+                new StockAdjustmentRequest(b, -2),
+                new StockAdjustmentRequest(a, 3),
+                new StockAdjustmentRequest(b, 1)));
+        assertEquals(Arrays.asList(3, 8, 4),
+                levels.stream().map(StockLevelResponse::getStockQuantity).collect(Collectors.toList()));
+
+        try {
+            service.adjustStock(Arrays.asList(new StockAdjustmentRequest(a, -1), new StockAdjustmentRequest(b, -5)));
+            fail("the second adjustment would take stock below zero");
+        } catch (InsufficientStockException expected) {
+            // expected
+        }
+        assertEquals(Integer.valueOf(8), service.getById(a).getStockQuantity());
+        assertEquals(Integer.valueOf(4), service.getById(b).getStockQuantity());
+
+        try {
+            service.reserve(Long.MAX_VALUE, 1);
+            fail("unknown part");
+        } catch (ResourceNotFoundException expected) {
+            // expected
+        }
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    @Test
+    public void testPatchWritesOnlyGivenFieldsAndChecksVersion() {
+        AutoPartResponse created = service.create(request(null, "Patch Sensor", "ELECTRICAL"));
+        assertEquals(Long.valueOf(0), created.getVersion());
+        // as stored, i.e. at the database's timestamp precision
+        LocalDateTime createDate = service.getById(created.getId()).getCreateDate();
+        assertNotNull(createDate);
+
+        AutoPartResponse patched = service.patch(created.getId(),
+                AutoPartPatchRequest.builder().price(20.0).build(), created.getVersion());
+        assertEquals(Long.valueOf(1), patched.getVersion());
+        assertEquals("Patch Sensor", patched.getName());
+        assertEquals(20.0, patched.getPrice(), 0.0);
+        assertEquals(createDate, patched.getCreateDate());
+        assertNotNull(patched.getUpdateDate());
+
+        AutoPartResponse read = service.getById(created.getId());
+        assertEquals(20.0, read.getPrice(), 0.0);
+        assertEquals("ELECTRICAL", read.getCategory());
+        assertEquals(Long.valueOf(1), read.getVersion());
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+
+        try {
+            service.patch(created.getId(), AutoPartPatchRequest.builder().name("Stale").build(), 0L);
+            fail("version 0 is stale");
+        } catch (VersionConflictException expected) {
+            // expected
+        }
+        assertEquals("Patch Sensor", service.getById(created.getId()).getName());
+
+        service.reserve(created.getId(), 1);
+        AutoPartResponse updated = service.update(created.getId(), request(null, "Patch Sensor v2", "ELECTRICAL"));
+        assertEquals(Long.valueOf(3), updated.getVersion());
+        assertEquals("PUT must keep the audit columns", createDate, updated.getCreateDate());
+    }
+
+    @Test
+    public void testDeleteByFilterRemovesWholeLine() {
+        for (int i = 0; i < 3; i++) {
+            service.create(AutoPartRequest.builder().name("Retired " + i).manufacturer("Discontinued Motors")
+                    .price(10.0).category("BODY").stockQuantity(2).build());
+        }
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("discontinued");
+
+        AutoPartBulkDeleteResponse response = service.deleteByFilter(filter);
+        assertEquals(3, response.getDeleted());
+        assertFalse(response.isSoft());
+        assertEquals(0, service.countByExample(AutoPartRequest.builder().manufacturer("Discontinued").build()));
+        assertEquals(0, service.deleteByFilter(filter).getDeleted());
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+
+        try {
+            service.deleteByFilter(new AutoPartQueryRequest.Filter());
+            fail("an empty filter must not delete everything");
+        } catch (BadRequestException expected) {
+            // expected
+        }
+    }
+
+    private static List<Long> ids(List<AutoPartResponse> parts) {
+        return parts.stream().map(AutoPartResponse::getId).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private long cacheHits() {
+        Map<String, Object> byId = (Map<String, Object>) service.readCacheStats().get("byId");
+        return (Long) byId.get("hits");
+    }
+
+    private static AutoPartRequest request(Long id, String name, String category) {
+        return AutoPartRequest.builder()
+                .id(id)
+                .name(name)
+                .manufacturer("Bulk Co")
+                .price(12.0)
+                .category(category)
+                .stockQuantity(5)
+                .build();
+    }
+}
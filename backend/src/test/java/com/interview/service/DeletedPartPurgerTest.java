@@ -0,0 +1,84 @@
+package com.interview.service;
+
+import com.interview.dto.AutoPartQueryRequest;
+import com.interview.dto.AutoPartRequest;
+import com.interview.exception.ResourceNotFoundException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringRunner.class)
+// own database, so that recreating the schema does not pull the rows from under the default test context
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:softdelete;MODE=LEGACY;LAZY_QUERY_EXECUTION=1",
+        "app.delete.soft=true",
+        "app.delete.purge.batch-size=2",
+        "app.delete.purge.pause-ms=0"})
+public class DeletedPartPurgerTest {
+
+    @Autowired
+    private AutoPartService service;
+
+    @Autowired
+    private DeletedPartPurger purger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testSoftDeletedPartsAreHiddenThenPurged() {
+        Long single = service.create(part("Soft Lamp")).getId();
+        for (int i = 0; i < 4; i++) {
+            service.create(part("Soft Mirror " + i));
+        }
+        long visible = service.count();
+
+        service.delete(single);
+        AutoPartQueryRequest.Filter filter = new AutoPartQueryRequest.Filter();
+        filter.setManufacturer("soft co");
+        assertEquals(4, service.deleteByFilter(filter).getDeleted());
+
+        assertEquals(visible - 5, service.count());
+        assertEquals(0, service.countByExample(AutoPartRequest.builder().manufacturer("Soft Co").build()));
+        assertTrue(service.getAll().stream().noneMatch(p -> p.getId().equals(single)));
+        try {
+            service.getById(single);
+            fail("soft-deleted part must not be readable");
+        } catch (ResourceNotFoundException expected) {
+            // expected
+        }
+        try {
+            service.delete(single);
+            fail("a part can only be deleted once");
+        } catch (ResourceNotFoundException expected) {
+            // expected
+        }
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+        assertEquals(Integer.valueOf(5), deletedRows());
+
+        assertEquals(5, purger.purge());
+        assertEquals(Integer.valueOf(0), deletedRows());
+        assertEquals(visible - 5, service.count());
+    }
+
+    private Integer deletedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AUTO_PART WHERE STATUS = 'DELETED'", Integer.class);
+    }
+
+    private static AutoPartRequest part(String name) {
+        return AutoPartRequest.builder()
+                .name(name)
+                .manufacturer("Soft Co")
+                .price(3.0)
+                .category("BODY")
+                .stockQuantity(1)
+                .build();
+    }
+}
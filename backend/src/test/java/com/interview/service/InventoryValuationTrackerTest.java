@@ -0,0 +1,70 @@
+package com.interview.service;
+
+import com.interview.dto.AutoPartRequest;
+import com.interview.dto.AutoPartResponse;
+import com.interview.dto.AutoPartTotalValuePerCategoryResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class InventoryValuationTrackerTest {
+
+    @Autowired
+    private AutoPartService service;
+
+    @Autowired
+    private InventoryValuationTracker tracker;
+
+    @Test
+    public void testWritesKeepRunningTotalsConsistent() {
+        assertTrue(tracker.reconcile());
+        double exhaustBefore = valueOf("EXHAUST");
+
+        AutoPartResponse created = service.create(request("EXHAUST", 10.0, 3));
+        assertEquals(exhaustBefore + 30.0, valueOf("EXHAUST"), 1e-9);
+
+        service.update(created.getId(), request("BODY", 5.0, 4));
+        assertEquals(exhaustBefore, valueOf("EXHAUST"), 1e-9);
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+
+        service.delete(created.getId());
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    @Test
+    public void testPartsWithoutCategoryAreReportedAsUnspecified() {
+        double unspecifiedBefore = valueOf(InventoryValuationTracker.UNSPECIFIED);
+
+        AutoPartResponse created = service.create(request(null, 2.5, 4));
+        assertEquals(unspecifiedBefore + 10.0, valueOf(InventoryValuationTracker.UNSPECIFIED), 1e-9);
+
+        service.delete(created.getId());
+        assertEquals(unspecifiedBefore, valueOf(InventoryValuationTracker.UNSPECIFIED), 1e-9);
+        assertTrue(service.verifyTotalValuePerCategory().isConsistent());
+    }
+
+    private double valueOf(String category) {
+        return service.getTotalValuePerCategory().stream()
+                .filter(r -> category.equals(r.getCategory()))
+                .mapToDouble(AutoPartTotalValuePerCategoryResponse::getValue)
+                .findFirst()
+                .orElse(0.0);
+    }
+
+    private static AutoPartRequest request(String category, double price, int stock) {
+        return AutoPartRequest.builder()
+                .name("Valuation Part")
+                .manufacturer("Tracker")
+                .price(price)
+                .category(category)
+                .stockQuantity(stock)
+                .build();
+    }
+}